@@ -0,0 +1,71 @@
+package com.brokerage.benchmark;
+
+import com.brokerage.model.OrderSide;
+import com.brokerage.service.AssetService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Balance reservation, release and settlement, each call its own transaction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AssetServiceBenchmark {
+
+    private static final BigDecimal SIZE = BigDecimal.ONE;
+    private static final BigDecimal PRICE = new BigDecimal("100.00");
+
+    @Param({"1000", "10000"})
+    public int customers;
+
+    private ConfigurableApplicationContext context;
+    private AssetService assetService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication();
+        BenchmarkFixtures.loadAccounts(context, customers, 0);
+        assetService = context.getBean(AssetService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private String randomCustomer() {
+        return BenchmarkFixtures.customerId(ThreadLocalRandom.current().nextInt(customers));
+    }
+
+    private String randomAsset() {
+        return BenchmarkFixtures.ASSETS[ThreadLocalRandom.current().nextInt(BenchmarkFixtures.ASSETS.length)];
+    }
+
+    @Benchmark
+    public void updateAssetForOrderBuy() {
+        assetService.updateAssetForOrder(randomCustomer(), randomAsset(), OrderSide.BUY, SIZE);
+    }
+
+    @Benchmark
+    public void updateAssetForOrderSell() {
+        assetService.updateAssetForOrder(randomCustomer(), randomAsset(), OrderSide.SELL, SIZE);
+    }
+
+    @Benchmark
+    public void updateAssetForOrderCancellation() {
+        assetService.updateAssetForOrderCancellation(randomCustomer(), randomAsset(), OrderSide.BUY, SIZE);
+    }
+
+    @Benchmark
+    public void updateAssetForOrderMatching() {
+        assetService.updateAssetForOrderMatching(randomCustomer(), randomAsset(), OrderSide.SELL, SIZE, PRICE);
+    }
+}
@@ -0,0 +1,83 @@
+package com.brokerage.benchmark;
+
+import com.brokerage.BrokerageApplication;
+import com.brokerage.model.Asset;
+import com.brokerage.model.Order;
+import com.brokerage.model.OrderSide;
+import com.brokerage.repository.AssetRepository;
+import com.brokerage.repository.OrderRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application against a private in-memory H2 database and fills it with benchmark accounts.
+ * Every JMH fork gets its own JVM, so each benchmark starts from the same data.
+ */
+final class BenchmarkFixtures {
+
+    static final String[] ASSETS = {
+        "AAPL", "MSFT", "GOOGL", "AMZN", "TSLA", "NVDA", "META", "THYAO", "GARAN", "ASELS",
+        "BIMAS", "KCHOL", "SISE", "TUPRS", "EREGL", "AKBNK", "YKBNK", "PGSUS", "FROTO", "TOASO"
+    };
+
+    // Large enough that no benchmark run drains a balance
+    private static final BigDecimal BALANCE = new BigDecimal("1000000000000");
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private BenchmarkFixtures() {}
+
+    static ConfigurableApplicationContext startApplication() {
+        return new SpringApplicationBuilder(BrokerageApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "spring.h2.console.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    static String customerId(int index) {
+        return String.format("BENCH%05d", index);
+    }
+
+    /**
+     * Gives every customer a TRY balance and a position in each asset, plus ordersPerCustomer pending orders
+     * spread over the assets, so queries run against realistically sized tables.
+     */
+    static void loadAccounts(ConfigurableApplicationContext context, int customers, int ordersPerCustomer) {
+        AssetRepository assetRepository = context.getBean(AssetRepository.class);
+        OrderRepository orderRepository = context.getBean(OrderRepository.class);
+
+        List<Asset> assets = new ArrayList<>(CHUNK_SIZE);
+        List<Order> orders = new ArrayList<>(CHUNK_SIZE);
+        for (int i = 0; i < customers; i++) {
+            String customerId = customerId(i);
+            assets.add(new Asset(customerId, "TRY", BALANCE, BALANCE));
+            for (String assetName : ASSETS) {
+                assets.add(new Asset(customerId, assetName, BALANCE, BALANCE));
+            }
+            for (int j = 0; j < ordersPerCustomer; j++) {
+                orders.add(new Order(customerId, ASSETS[j % ASSETS.length], j % 2 == 0 ? OrderSide.BUY : OrderSide.SELL,
+                        BigDecimal.ONE, new BigDecimal("100.00")));
+            }
+            if (assets.size() >= CHUNK_SIZE) {
+                assetRepository.saveAll(assets);
+                assets.clear();
+            }
+            if (orders.size() >= CHUNK_SIZE) {
+                orderRepository.saveAll(orders);
+                orders.clear();
+            }
+        }
+        assetRepository.saveAll(assets);
+        orderRepository.saveAll(orders);
+    }
+}
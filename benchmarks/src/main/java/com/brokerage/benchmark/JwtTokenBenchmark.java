@@ -0,0 +1,69 @@
+package com.brokerage.benchmark;
+
+import com.brokerage.model.User;
+import com.brokerage.security.BrokerageUserPrincipal;
+import com.brokerage.security.JwtTokenProvider;
+import com.brokerage.security.VerifiedToken;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token checks on the request path: validateToken verifies the signature on every call, verifyAccessToken is
+ * what the JWT filter uses and is served from the verified-token cache after the first hit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenBenchmark {
+
+    // Distinct tokens, about the number of customers active at once
+    @Param({"1000"})
+    public int tokens;
+
+    private ConfigurableApplicationContext context;
+    private JwtTokenProvider jwtTokenProvider;
+    private String[] accessTokens;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication();
+        jwtTokenProvider = context.getBean(JwtTokenProvider.class);
+        accessTokens = new String[tokens];
+        for (int i = 0; i < tokens; i++) {
+            BrokerageUserPrincipal principal = new BrokerageUserPrincipal("customer" + i, null,
+                    User.UserRole.CUSTOMER, BenchmarkFixtures.customerId(i));
+            accessTokens[i] = jwtTokenProvider.generateAccessToken(principal);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    private String nextToken(Cursor cursor) {
+        String token = accessTokens[cursor.next];
+        cursor.next = (cursor.next + 1) % accessTokens.length;
+        return token;
+    }
+
+    @Benchmark
+    public boolean validateToken(Cursor cursor) {
+        return jwtTokenProvider.validateToken(nextToken(cursor));
+    }
+
+    @Benchmark
+    public VerifiedToken verifyAccessTokenCached(Cursor cursor) {
+        return jwtTokenProvider.verifyAccessToken(nextToken(cursor));
+    }
+}
@@ -0,0 +1,61 @@
+package com.brokerage.benchmark;
+
+import com.brokerage.dto.OrderView;
+import com.brokerage.model.Order;
+import com.brokerage.model.OrderSide;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of order lists as GET /api/orders returns them. Uses the same Jackson defaults as the web layer
+ * (JavaTimeModule, ISO dates) without starting the application.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int orderCount;
+
+    private ObjectMapper objectMapper;
+    private List<Order> orders;
+    private List<OrderView> views;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        orders = new ArrayList<>(orderCount);
+        views = new ArrayList<>(orderCount);
+        LocalDateTime createDate = LocalDateTime.now();
+        for (int i = 0; i < orderCount; i++) {
+            Order order = new Order(BenchmarkFixtures.customerId(i % 100), BenchmarkFixtures.ASSETS[i % BenchmarkFixtures.ASSETS.length],
+                    i % 2 == 0 ? OrderSide.BUY : OrderSide.SELL, new BigDecimal("12.5"), new BigDecimal("154.25"));
+            order.setId((long) i + 1);
+            order.setCreateDate(createDate.minusSeconds(i));
+            orders.add(order);
+            views.add(OrderView.from(order));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeOrders() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public byte[] serializeOrderViews() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(views);
+    }
+}
@@ -0,0 +1,90 @@
+package com.brokerage.benchmark;
+
+import com.brokerage.dto.CreateOrderRequest;
+import com.brokerage.model.Order;
+import com.brokerage.model.OrderSide;
+import com.brokerage.repository.OrderRepository;
+import com.brokerage.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order entry, cancel and match through the transactional service layer, each call a full transaction on H2.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderServiceBenchmark {
+
+    @Param({"1000"})
+    public int customers;
+
+    @Param({"10", "100"})
+    public int ordersPerCustomer;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRepository orderRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication();
+        BenchmarkFixtures.loadAccounts(context, customers, ordersPerCustomer);
+        orderService = context.getBean(OrderService.class);
+        orderRepository = context.getBean(OrderRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    String randomCustomer() {
+        return BenchmarkFixtures.customerId(ThreadLocalRandom.current().nextInt(customers));
+    }
+
+    String randomAsset() {
+        return BenchmarkFixtures.ASSETS[ThreadLocalRandom.current().nextInt(BenchmarkFixtures.ASSETS.length)];
+    }
+
+    /**
+     * A fresh pending order for each cancel/match call. Inserted straight through the repository so the setup
+     * stays cheap next to the measured transaction.
+     */
+    @State(Scope.Thread)
+    public static class PendingOrder {
+        Long orderId;
+        String customerId;
+
+        @Setup(Level.Invocation)
+        public void create(OrderServiceBenchmark benchmark) {
+            customerId = benchmark.randomCustomer();
+            Order order = new Order(customerId, benchmark.randomAsset(), OrderSide.BUY, BigDecimal.ONE, new BigDecimal("100.00"));
+            orderId = benchmark.orderRepository.save(order).getId();
+        }
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        CreateOrderRequest request = new CreateOrderRequest(randomCustomer(), randomAsset(), OrderSide.BUY,
+                BigDecimal.ONE, new BigDecimal("100.00"));
+        return orderService.createOrder(request);
+    }
+
+    @Benchmark
+    public void cancelOrder(PendingOrder pending) {
+        orderService.cancelOrder(pending.orderId, pending.customerId);
+    }
+
+    @Benchmark
+    public void matchOrder(PendingOrder pending) {
+        orderService.matchOrder(pending.orderId);
+    }
+}
@@ -0,0 +1,26 @@
+package com.brokerage.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caffeine caches in front of the users table. Size and TTL come from spring.cache.caffeine.spec; hit ratio and
+ * load latency are published by actuator as cache.gets / cache.load.duration.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USER_PRINCIPALS = "userPrincipals";
+    public static final String USERS_BY_CUSTOMER_ID = "usersByCustomerId";
+
+    // Puts and evictions made inside a transaction only apply once it commits, so a rolled-back user change
+    // can never be served from the cache
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> transactionAwareCaches() {
+        return cacheManager -> cacheManager.setTransactionAware(true);
+    }
+}
@@ -0,0 +1,136 @@
+package com.brokerage.config;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Full latency distributions per endpoint and per order operation, kept in HdrHistogram interval recorders.
+ * Recording is wait-free and allocation-free once a series exists: request threads only touch their series'
+ * Recorder, and the scheduled rotation swaps out the interval histogram without stopping them.
+ *
+ * Each series reports the last completed interval and the running total since startup. Series are created on
+ * first use up to max-series; later names are not recorded.
+ *
+ * Values are kept in microseconds at two significant digits (1% resolution). A series holds four histograms
+ * (the recorder's active and inactive pair, the last interval and the total); at the default 60 s ceiling each
+ * is about 20 KB, so roughly 80 KB per series. Nanoseconds at three digits would be about 220 KB per histogram.
+ */
+@Component
+public class LatencyRecorder {
+
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9, 99.99};
+    private static final String[] PERCENTILE_LABELS = {"p50", "p90", "p99", "p99.9", "p99.99"};
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    @Value("${brokerage.latency.max-series:200}")
+    private int maxSeries;
+
+    @Value("${brokerage.latency.highest-trackable-ms:60000}")
+    private long highestTrackableMs;
+
+    // group (HTTP method or service) -> name (URI pattern or operation) -> series; two levels so no key is built per call
+    private final Map<String, Map<String, Series>> series = new ConcurrentHashMap<>();
+    private final AtomicInteger seriesCount = new AtomicInteger();
+
+    private static final class Series {
+        final Recorder recorder;
+        final Histogram total;
+        Histogram lastInterval;
+        Histogram spare;
+        long intervalStartMillis = System.currentTimeMillis();
+        long intervalEndMillis = intervalStartMillis;
+
+        Series(long highestTrackableMicros) {
+            recorder = new Recorder(highestTrackableMicros, SIGNIFICANT_DIGITS);
+            total = new Histogram(highestTrackableMicros, SIGNIFICANT_DIGITS);
+            // Must come from this recorder: it is handed back to getIntervalHistogram for reuse
+            lastInterval = recorder.getIntervalHistogram();
+        }
+    }
+
+    public void record(String group, String name, long nanos) {
+        Series target = series(group, name);
+        if (target != null) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+            target.recorder.recordValue(Math.max(0, Math.min(micros, TimeUnit.MILLISECONDS.toMicros(highestTrackableMs))));
+        }
+    }
+
+    private Series series(String group, String name) {
+        Map<String, Series> byName = series.get(group);
+        Series existing = byName != null ? byName.get(name) : null;
+        if (existing != null) {
+            return existing;
+        }
+        if (seriesCount.get() >= maxSeries) {
+            return null;
+        }
+        return series.computeIfAbsent(group, g -> new ConcurrentHashMap<>())
+                .computeIfAbsent(name, n -> {
+                    seriesCount.incrementAndGet();
+                    return new Series(TimeUnit.MILLISECONDS.toMicros(highestTrackableMs));
+                });
+    }
+
+    @Scheduled(fixedRateString = "${brokerage.latency.interval:PT10S}")
+    public void rotate() {
+        long now = System.currentTimeMillis();
+        for (Map<String, Series> byName : series.values()) {
+            for (Series s : byName.values()) {
+                // The spare is no longer visible to report(), so the recorder may overwrite it outside the lock
+                Histogram interval = s.recorder.getIntervalHistogram(s.spare);
+                synchronized (s) {
+                    s.total.add(interval);
+                    s.spare = s.lastInterval;
+                    s.lastInterval = interval;
+                    s.intervalStartMillis = s.intervalEndMillis;
+                    s.intervalEndMillis = now;
+                }
+            }
+        }
+    }
+
+    /**
+     * "GET /api/orders" or "OrderService create" -> {interval: {...}, total: {...}}, latencies in milliseconds.
+     */
+    public Map<String, Object> report() {
+        Map<String, Object> report = new TreeMap<>();
+        series.forEach((group, byName) -> byName.forEach((name, s) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            synchronized (s) {
+                Map<String, Object> interval = summarize(s.lastInterval);
+                interval.put("start", s.intervalStartMillis);
+                interval.put("end", s.intervalEndMillis);
+                entry.put("interval", interval);
+                entry.put("total", summarize(s.total));
+            }
+            report.put(group + " " + name, entry);
+        }));
+        return report;
+    }
+
+    private static Map<String, Object> summarize(Histogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            summary.put(PERCENTILE_LABELS[i], toMillis(histogram.getValueAtPercentile(PERCENTILES[i])));
+        }
+        summary.put("max", toMillis(histogram.getMaxValue()));
+        summary.put("mean", histogram.getTotalCount() == 0 ? 0.0 : histogram.getMean() / 1e3);
+        return summary;
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1e3;
+    }
+}
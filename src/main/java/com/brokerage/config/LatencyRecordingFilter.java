@@ -0,0 +1,71 @@
+package com.brokerage.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Outermost filter, so the recorded time includes security, rate limiting and the handler. Requests are grouped
+ * by HTTP method and the matched URI pattern (/api/orders/{orderId}), never the raw path.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LatencyRecordingFilter extends OncePerRequestFilter {
+
+    // Rejected before reaching a handler (401, 403, 404, 429)
+    private static final String UNMATCHED = "unmatched";
+
+    @Autowired
+    private LatencyRecorder latencyRecorder;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long startNanos = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Login and registration finish on the hashing pool; record when the response completes
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, startNanos);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(request, startNanos);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, long startNanos) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        latencyRecorder.record(request.getMethod(), pattern != null ? pattern.toString() : UNMATCHED,
+                System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,24 @@
+package com.brokerage.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * GET /actuator/latency (admins only): percentile distributions and max latency per endpoint and order operation.
+ */
+@Component
+@Endpoint(id = "latency")
+public class LatencyReportEndpoint {
+
+    @Autowired
+    private LatencyRecorder latencyRecorder;
+
+    @ReadOperation
+    public Map<String, Object> latency() {
+        return latencyRecorder.report();
+    }
+}
@@ -0,0 +1,20 @@
+package com.brokerage.config;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Turns @Observed classes (OrderService, AssetService) into one span and one timer per public method call.
+ * HTTP server spans, the Spring Security filter chain and JDBC connection/query spans are auto-configured;
+ * head sampling is management.tracing.sampling.probability.
+ */
+@Configuration
+public class ObservationConfig {
+
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.brokerage.config;
+
+import com.brokerage.service.OrderArchiveService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Component
+@ConditionalOnProperty(name = "brokerage.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderArchiveScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchiveScheduler.class);
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    // Each chunk commits on its own, so the hot table is never locked for the whole run
+    @Scheduled(initialDelayString = "${brokerage.archive.initial-delay:PT1M}",
+               fixedDelayString = "${brokerage.archive.interval:PT10M}")
+    public void archiveTerminalOrders() {
+        LocalDateTime cutoff = orderArchiveService.archiveHorizon();
+        int total = 0;
+        int moved;
+        do {
+            moved = orderArchiveService.archiveBatch(cutoff);
+            total += moved;
+        } while (moved > 0);
+
+        if (total > 0) {
+            logger.info("Archived {} terminal orders created before {}", total, cutoff);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.brokerage.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for @Transactional(readOnly = true) work to the replica pool, everything else to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy so the lookup runs after the transaction's read-only flag is set.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    static boolean pinToPrimary() {
+        boolean alreadyPinned = PRIMARY_PINNED.get() != null;
+        PRIMARY_PINNED.set(Boolean.TRUE);
+        return alreadyPinned;
+    }
+
+    static void unpin(boolean wasAlreadyPinned) {
+        if (!wasAlreadyPinned) {
+            PRIMARY_PINNED.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && PRIMARY_PINNED.get() == null) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+}
@@ -0,0 +1,67 @@
+package com.brokerage.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Remembers which customers wrote recently so their own reads go to the primary until the replica has caught up.
+ * Keys are customer ids; UserService tracks user records under "user:"-prefixed usernames.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    @Value("${brokerage.datasource.read-your-writes-window-ms:5000}")
+    private long windowMillis;
+
+    private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+
+    public void recordWrite(String customerId) {
+        if (customerId != null && windowMillis > 0) {
+            lastWriteNanos.put(customerId, System.nanoTime());
+        }
+    }
+
+    public boolean hasRecentWrite(String customerId) {
+        if (customerId == null) {
+            return false;
+        }
+        Long writtenAt = lastWriteNanos.get(customerId);
+        return writtenAt != null && System.nanoTime() - writtenAt < TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    // Wrap the first query of a read-only transaction; the connection is picked when that query runs
+    public <T> T read(String customerId, Supplier<T> query) {
+        if (!hasRecentWrite(customerId)) {
+            return query.get();
+        }
+        boolean wasPinned = ReadWriteRoutingDataSource.pinToPrimary();
+        try {
+            return query.get();
+        } finally {
+            ReadWriteRoutingDataSource.unpin(wasPinned);
+        }
+    }
+
+    // For checks that must see every committed write, whoever made it, such as token revocation
+    public <T> T readFromPrimary(Supplier<T> query) {
+        boolean wasPinned = ReadWriteRoutingDataSource.pinToPrimary();
+        try {
+            return query.get();
+        } finally {
+            ReadWriteRoutingDataSource.unpin(wasPinned);
+        }
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpired() {
+        long windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        long now = System.nanoTime();
+        lastWriteNanos.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+    }
+}
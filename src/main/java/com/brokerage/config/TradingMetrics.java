@@ -0,0 +1,103 @@
+package com.brokerage.config;
+
+import com.brokerage.model.OrderSide;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers and counters for the trading hot paths. Asset names become tag values only for the first
+ * max-asset-tags assets seen; the rest are reported as "other" so a flood of symbols can't blow up the number
+ * of series. Meters are registered once per tag combination and looked up from a local map afterwards, so the hot
+ * paths don't rebuild an id and go through the registry on every call.
+ */
+@Component
+public class TradingMetrics {
+
+    static final String OTHER_ASSET = "other";
+    static final String NO_ASSET = "none";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private LatencyRecorder latencyRecorder;
+
+    @Value("${brokerage.metrics.max-asset-tags:50}")
+    private int maxAssetTags;
+
+    private final Set<String> taggedAssets = ConcurrentHashMap.newKeySet();
+
+    private record CommandKey(String operation, String asset, String side, boolean succeeded) {
+    }
+
+    private record ReservationKey(String asset, OrderSide side, boolean reserved) {
+    }
+
+    // Bounded by the asset tag cap times the other tags' few values
+    private final Map<CommandKey, Timer> commandTimers = new ConcurrentHashMap<>();
+    private final Map<ReservationKey, Counter> reservationCounters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> jwtFilterTimers = new ConcurrentHashMap<>();
+
+    /**
+     * operation is create, cancel or match; assetName and side may be null when the order was never loaded.
+     */
+    public void recordOrderCommand(String operation, String assetName, OrderSide side, boolean succeeded, long startNanos) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        latencyRecorder.record("OrderService", operation, elapsedNanos);
+        CommandKey key = new CommandKey(operation, assetTag(assetName), side != null ? side.name() : NO_ASSET, succeeded);
+        commandTimers.computeIfAbsent(key, k -> Timer.builder("brokerage.orders.commands")
+                .description("Order commands through OrderService, excluding the transaction commit")
+                .tag("operation", k.operation())
+                .tag("asset", k.asset())
+                .tag("side", k.side())
+                .tag("outcome", k.succeeded() ? "success" : "error")
+                .register(meterRegistry))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordReservation(String assetName, OrderSide side, boolean reserved) {
+        ReservationKey key = new ReservationKey(assetTag(assetName), side, reserved);
+        reservationCounters.computeIfAbsent(key, k -> Counter.builder("brokerage.assets.reservations")
+                .description("Balance reservations for new orders")
+                .tag("asset", k.asset())
+                .tag("side", k.side().name())
+                .tag("outcome", k.reserved() ? "reserved" : "insufficient_balance")
+                .register(meterRegistry))
+                .increment();
+    }
+
+    /**
+     * outcome is authenticated, anonymous (no bearer token) or rejected (invalid, expired or revoked).
+     */
+    public void recordJwtFilter(String outcome, long startNanos) {
+        jwtFilterTimers.computeIfAbsent(outcome, k -> Timer.builder("brokerage.auth.jwt_filter")
+                .description("Token verification and revocation check per request")
+                .tag("outcome", k)
+                .register(meterRegistry))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    String assetTag(String assetName) {
+        if (assetName == null) {
+            return NO_ASSET;
+        }
+        if (taggedAssets.contains(assetName)) {
+            return assetName;
+        }
+        // Racing threads can overshoot the cap by a few entries; it is a bound, not an exact count
+        if (taggedAssets.size() < maxAssetTags) {
+            taggedAssets.add(assetName);
+            return assetName;
+        }
+        return OTHER_ASSET;
+    }
+}
@@ -0,0 +1,69 @@
+package com.brokerage.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Watches for virtual threads pinned to their carrier (blocking inside synchronized or native code), which
+ * silently turns the virtual-thread pool back into a small platform pool. Streams JFR's jdk.VirtualThreadPinned
+ * events in-process, logs the offending frames and counts them as brokerage.virtual_threads.pinned.
+ * Our own code uses ReentrantLock for anything that can block, journal appends, fsyncs and checkpoints included.
+ * The only synchronized blocks left guard LatencyRecorder's in-memory histogram swaps, which never block.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${brokerage.virtual-threads.pinned-threshold-ms:20}")
+    private long thresholdMillis;
+
+    private RecordingStream stream;
+    private Counter pinned;
+
+    @PostConstruct
+    public void start() {
+        pinned = Counter.builder("brokerage.virtual_threads.pinned")
+                .description("Virtual threads pinned to a carrier thread longer than the threshold")
+                .register(meterRegistry);
+
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMillis)).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.increment();
+        String frames = event.getStackTrace() == null ? "(no stack trace)" : event.getStackTrace().getFrames().stream()
+                .limit(8)
+                .map(RecordedFrame::getMethod)
+                .map(method -> method.getType().getName() + "." + method.getName())
+                .collect(Collectors.joining(" <- "));
+        logger.warn("Virtual thread pinned for {} ms: {}", event.getDuration().toMillis(), frames);
+    }
+
+    @PreDestroy
+    public void stop() {
+        stream.close();
+    }
+}
@@ -1,14 +1,12 @@
 package com.brokerage.controller;
 
-import com.brokerage.model.Asset;
-import com.brokerage.model.User;
+import com.brokerage.dto.AssetView;
+import com.brokerage.security.BrokerageUserPrincipal;
 import com.brokerage.service.AssetService;
-import com.brokerage.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -21,39 +19,32 @@ public class AssetController {
     @Autowired
     private AssetService assetService;
     
-    @Autowired
-    private UserService userService;
-    
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('CUSTOMER')")
-    public ResponseEntity<List<Asset>> getCustomerAssets(@RequestParam String customerId) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User currentUser = userService.findByUsername(auth.getName());
+    public ResponseEntity<List<AssetView>> getCustomerAssets(
+            @AuthenticationPrincipal BrokerageUserPrincipal currentUser,
+            @RequestParam String customerId) {
         
-        if (currentUser.getRole() == User.UserRole.CUSTOMER && 
-            !currentUser.getCustomerId().equals(customerId)) {
+        if (!currentUser.canAccessCustomer(customerId)) {
             throw new RuntimeException("Access denied: Can only view your own assets.");
         }
         
-        List<Asset> assets = assetService.getCustomerAssets(customerId);
+        List<AssetView> assets = assetService.getCustomerAssets(customerId);
         return ResponseEntity.ok(assets);
     }
     
     @GetMapping("/{assetName}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('CUSTOMER')")
-    public ResponseEntity<Asset> getCustomerAsset(
+    public ResponseEntity<AssetView> getCustomerAsset(
+            @AuthenticationPrincipal BrokerageUserPrincipal currentUser,
             @RequestParam String customerId,
             @PathVariable String assetName) {
         
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User currentUser = userService.findByUsername(auth.getName());
-        
-        if (currentUser.getRole() == User.UserRole.CUSTOMER && 
-            !currentUser.getCustomerId().equals(customerId)) {
+        if (!currentUser.canAccessCustomer(customerId)) {
             throw new RuntimeException("Access denied: Can only view your own assets.");
         }
         
-        Asset asset = assetService.getCustomerAsset(customerId, assetName);
+        AssetView asset = assetService.getCustomerAssetView(customerId, assetName);
         return ResponseEntity.ok(asset);
     }
-} 
\ No newline at end of file
+}
@@ -2,60 +2,178 @@ package com.brokerage.controller;
 
 import com.brokerage.dto.LoginRequest;
 import com.brokerage.dto.LoginResponse;
+import com.brokerage.dto.RefreshTokenRequest;
 import com.brokerage.model.User;
+import com.brokerage.security.BrokerageUserPrincipal;
 import com.brokerage.security.JwtTokenProvider;
+import com.brokerage.security.PasswordHashingExecutor;
+import com.brokerage.security.TokenRevocationService;
+import com.brokerage.security.VerifiedToken;
 import com.brokerage.service.UserService;
+import jakarta.annotation.PostConstruct;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*")
 public class AuthController {
     
-    @Autowired
-    private AuthenticationManager authenticationManager;
-    
     @Autowired
     private JwtTokenProvider tokenProvider;
     
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor applicationTaskExecutor;
+    
+    private final AccountStatusUserDetailsChecker accountStatusChecker = new AccountStatusUserDetailsChecker();
+    
+    private String unknownUserPassword;
+    
+    @PostConstruct
+    public void init() {
+        unknownUserPassword = passwordEncoder.encode("unknown-user");
+    }
+    
+    // Only BCrypt runs on the hashing pool: the user lookup happens here first, and the Tomcat worker is released
+    // while the hash is compared
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(
-                loginRequest.getUsername(),
-                loginRequest.getPassword()
-            )
-        );
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest loginRequest) {
+        UserDetails user;
+        try {
+            user = userService.loadUserByUsername(loginRequest.getUsername());
+        } catch (UsernameNotFoundException e) {
+            user = null;
+        }
         
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+        UserDetails candidate = user;
+        try {
+            return passwordHashingExecutor.submit(() -> {
+                Authentication authentication = verifyPassword(candidate, loginRequest.getPassword());
+                
+                String jwt = tokenProvider.generateToken(authentication);
+                BrokerageUserPrincipal principal = (BrokerageUserPrincipal) authentication.getPrincipal();
+                String refreshToken = tokenProvider.generateRefreshToken(principal);
+                
+                return ResponseEntity.ok(new LoginResponse(jwt, principal.getUsername(), principal.getRole().name(), principal.getCustomerId(), refreshToken));
+            });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(hashingPoolBusy());
+        }
+    }
+    
+    // Swaps a refresh token for a new access/refresh pair without a password check; the old refresh token is revoked
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshTokenRequest refreshRequest) {
+        VerifiedToken refreshToken = tokenProvider.verifyRefreshToken(refreshRequest.getRefreshToken());
+        if (refreshToken == null || tokenRevocationService.isRevoked(refreshToken.tokenId())) {
+            return invalidRefreshToken();
+        }
         
-        String jwt = tokenProvider.generateToken(authentication);
-        User user = userService.findByUsername(loginRequest.getUsername());
+        // Reload the user (from the user cache) so role changes apply from the next access token on
+        BrokerageUserPrincipal principal;
+        try {
+            principal = (BrokerageUserPrincipal) userService.loadUserByUsername(refreshToken.principal().getUsername());
+        } catch (UsernameNotFoundException e) {
+            return invalidRefreshToken();
+        }
         
-        return ResponseEntity.ok(new LoginResponse(jwt, user));
+        // Rotation: only the caller that revokes the old refresh token gets a new pair
+        if (!tokenRevocationService.revokeIfActive(refreshToken)) {
+            return invalidRefreshToken();
+        }
+        return ResponseEntity.ok(new LoginResponse(tokenProvider.generateAccessToken(principal), principal.getUsername(),
+            principal.getRole().name(), principal.getCustomerId(), tokenProvider.generateRefreshToken(principal)));
+    }
+    
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                       @RequestBody(required = false) RefreshTokenRequest refreshRequest) {
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            String accessToken = authorization.substring(7);
+            VerifiedToken verified = tokenProvider.verifyAccessToken(accessToken);
+            if (verified != null) {
+                tokenRevocationService.revokeAccessToken(accessToken, verified);
+            }
+        }
+        if (refreshRequest != null && refreshRequest.getRefreshToken() != null) {
+            VerifiedToken verified = tokenProvider.verifyRefreshToken(refreshRequest.getRefreshToken());
+            if (verified != null) {
+                tokenRevocationService.revoke(verified);
+            }
+        }
+        return ResponseEntity.ok().build();
     }
     
-        @PostMapping("/register")
-    public ResponseEntity<?> register(@Valid @RequestBody LoginRequest registerRequest) {
+    // Hashing on the pool, then the insert on the application task executor: no database work on the CPU-sized pool
+    @PostMapping("/register")
+    public CompletableFuture<ResponseEntity<?>> register(@Valid @RequestBody LoginRequest registerRequest) {
+        CompletableFuture<String> encodedPassword;
         try {
-            User user = userService.createUser(registerRequest.getUsername(), registerRequest.getPassword());
-            return ResponseEntity.ok(new LoginResponse(null, user)); 
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                .body(Map.of("error", e.getMessage()));
+            encodedPassword = passwordHashingExecutor.submit(() -> passwordEncoder.encode(registerRequest.getPassword()));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(hashingPoolBusy());
+        }
+        
+        return encodedPassword.thenApplyAsync(encoded -> {
+            try {
+                User user = userService.registerCustomer(registerRequest.getUsername(), encoded);
+                return ResponseEntity.ok(new LoginResponse(null, user.getUsername(), user.getRole().name(), user.getCustomerId()));
+            } catch (RuntimeException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+            }
+        }, applicationTaskExecutor);
+    }
+    
+    // Same checks as DaoAuthenticationProvider. Unknown users are compared against a dummy hash so they take as
+    // long as a wrong password and don't reveal which usernames exist.
+    private Authentication verifyPassword(UserDetails user, String rawPassword) {
+        String encoded = user != null ? user.getPassword() : unknownUserPassword;
+        if (!passwordEncoder.matches(rawPassword, encoded) || user == null) {
+            throw new BadCredentialsException("Bad credentials");
         }
+        accountStatusChecker.check(user);
+        return UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+    }
+    
+    private ResponseEntity<?> invalidRefreshToken() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+            .body(Map.of("error", "Invalid refresh token."));
+    }
+    
+    private ResponseEntity<?> hashingPoolBusy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(passwordHashingExecutor.getRetryAfterSeconds()))
+            .body(Map.of("error", "Authentication is busy, please retry."));
     }
-} 
\ No newline at end of file
+}
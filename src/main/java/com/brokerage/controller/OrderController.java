@@ -1,21 +1,35 @@
 package com.brokerage.controller;
 
+import com.brokerage.dto.BatchOrderRequest;
+import com.brokerage.dto.BatchOrderResponse;
 import com.brokerage.dto.CreateOrderRequest;
+import com.brokerage.dto.CustomerSummary;
+import com.brokerage.dto.OrderView;
 import com.brokerage.model.Order;
-import com.brokerage.model.User;
+import com.brokerage.pipeline.OrderSubmission;
+import com.brokerage.pipeline.OrderSubmissionPipeline;
+import com.brokerage.readmodel.CustomerSummaryProjection;
+import com.brokerage.security.BrokerageUserPrincipal;
+import com.brokerage.security.CustomerRateLimiter;
+import com.brokerage.service.OrderAdmissionControl;
 import com.brokerage.service.OrderService;
-import com.brokerage.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -26,62 +40,168 @@ public class OrderController {
     private OrderService orderService;
     
     @Autowired
-    private UserService userService;
+    private CustomerSummaryProjection customerSummaryProjection;
+    
+    @Autowired
+    private OrderAdmissionControl admissionControl;
+    
+    @Autowired
+    private CustomerRateLimiter rateLimiter;
+    
+    // Only present when brokerage.journal.enabled=true
+    @Autowired(required = false)
+    private OrderSubmissionPipeline orderSubmissionPipeline;
+    
+    @Value("${brokerage.orders.batch.max-size:500}")
+    private int maxBatchSize;
     
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('CUSTOMER')")
-    public ResponseEntity<Order> createOrder(@Valid @RequestBody CreateOrderRequest request) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User currentUser = userService.findByUsername(auth.getName());
+    public ResponseEntity<OrderView> createOrder(
+            @AuthenticationPrincipal BrokerageUserPrincipal currentUser,
+            @Valid @RequestBody CreateOrderRequest request) {
         
-        if (currentUser.getRole() == User.UserRole.CUSTOMER && 
-            !currentUser.getCustomerId().equals(request.getCustomerId())) {
+        if (!currentUser.canAccessCustomer(request.getCustomerId())) {
             throw new RuntimeException("Access denied: Can only create orders for your own account");
         }
         
-        Order order = orderService.createOrder(request);
-        return ResponseEntity.ok(order);
+        // Budgets are checked before any database work; over budget fails fast with 503
+        try (OrderAdmissionControl.Permit permit = admissionControl.admitCreate(request.getCustomerId(), request.getAssetName())) {
+            Order order = orderService.createOrder(request);
+            return ResponseEntity.ok(OrderView.from(order));
+        }
+    }
+    
+    // Per-order results in request order; 422 when an all-or-nothing batch was rejected and nothing was placed
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('CUSTOMER')")
+    public ResponseEntity<BatchOrderResponse> createOrders(
+            @AuthenticationPrincipal BrokerageUserPrincipal currentUser,
+            @Valid @RequestBody BatchOrderRequest request) {
+        
+        List<CreateOrderRequest> orders = request.getOrders();
+        if (orders.size() > maxBatchSize) {
+            throw new RuntimeException("Batch too large: at most " + maxBatchSize + " orders per request");
+        }
+        
+        Map<String, Map<String, Integer>> orderCountsByCustomer = new LinkedHashMap<>();
+        for (CreateOrderRequest order : orders) {
+            if (!currentUser.canAccessCustomer(order.getCustomerId())) {
+                throw new RuntimeException("Access denied: Can only create orders for your own account");
+            }
+            orderCountsByCustomer.computeIfAbsent(order.getCustomerId(), c -> new LinkedHashMap<>())
+                .merge(order.getAssetName(), 1, Integer::sum);
+        }
+        
+        // RateLimitFilter leaves batches alone; every order takes a token from the caller's batch bucket
+        long waitNanos = rateLimiter.tryAcquire(
+            CustomerRateLimiter.EndpointClass.BATCH, CustomerRateLimiter.keyFor(currentUser), orders.size());
+        if (waitNanos > 0) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(CustomerRateLimiter.retryAfterSeconds(waitNanos)))
+                .build();
+        }
+        
+        try (OrderAdmissionControl.Permit permit = admissionControl.admitBatch(orderCountsByCustomer)) {
+            BatchOrderResponse response = BatchOrderResponse.of(
+                request.isAllOrNothing(), orderService.createOrders(orders, request.isAllOrNothing()));
+            if (request.isAllOrNothing() && response.rejected() > 0) {
+                return ResponseEntity.unprocessableEntity().body(response);
+            }
+            return ResponseEntity.ok(response);
+        }
+    }
+    
+    // Answers 202 once the order is journaled and on disk; poll the Location for the outcome
+    @PostMapping("/async")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('CUSTOMER')")
+    public CompletableFuture<ResponseEntity<OrderSubmission>> createOrderAsync(
+            @AuthenticationPrincipal BrokerageUserPrincipal currentUser,
+            @Valid @RequestBody CreateOrderRequest request) {
+        
+        if (!currentUser.canAccessCustomer(request.getCustomerId())) {
+            throw new RuntimeException("Access denied: Can only create orders for your own account");
+        }
+        if (orderSubmissionPipeline == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        }
+        
+        // The Tomcat worker is released while the journal's group fsync is pending
+        return orderSubmissionPipeline.submit(request).thenApply(submission -> ResponseEntity.accepted()
+            .location(URI.create("/api/orders/submissions/" + submission.handle()))
+            .body(submission));
+    }
+    
+    @GetMapping("/submissions/{handle}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('CUSTOMER')")
+    public ResponseEntity<OrderSubmission> getSubmission(
+            @AuthenticationPrincipal BrokerageUserPrincipal currentUser,
+            @PathVariable long handle) {
+        
+        if (orderSubmissionPipeline == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        
+        OrderSubmission submission = orderSubmissionPipeline.getSubmission(handle);
+        if (!currentUser.canAccessCustomer(submission.customerId())) {
+            throw new RuntimeException("Access denied: Can only view your own orders");
+        }
+        return ResponseEntity.ok(submission);
     }
     
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('CUSTOMER')")
-    public ResponseEntity<List<Order>> getOrders(
+    public ResponseEntity<List<OrderView>> getOrders(
+            @AuthenticationPrincipal BrokerageUserPrincipal currentUser,
             @RequestParam String customerId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
         
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User currentUser = userService.findByUsername(auth.getName());
-        
-        if (currentUser.getRole() == User.UserRole.CUSTOMER && 
-            !currentUser.getCustomerId().equals(customerId)) {
+        if (!currentUser.canAccessCustomer(customerId)) {
             throw new RuntimeException("Access denied: Can only view your own orders");
         }
         
-        List<Order> orders = orderService.getCustomerOrders(customerId, startDate, endDate);
+        List<OrderView> orders = orderService.getCustomerOrders(customerId, startDate, endDate);
         return ResponseEntity.ok(orders);
     }
     
-    @DeleteMapping("/{orderId}")
+    @GetMapping("/summary")
     @PreAuthorize("hasRole('ADMIN') or hasRole('CUSTOMER')")
-    public ResponseEntity<Void> cancelOrder(@PathVariable Long orderId) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User currentUser = userService.findByUsername(auth.getName());
+    public ResponseEntity<CustomerSummary> getSummary(
+            @AuthenticationPrincipal BrokerageUserPrincipal currentUser,
+            @RequestParam String customerId) {
         
-        String customerId = currentUser.getCustomerId();
-        if (currentUser.getRole() == User.UserRole.ADMIN) {
-            Order order = orderService.getOrderById(orderId);
-            customerId = order.getCustomerId();
+        if (!currentUser.canAccessCustomer(customerId)) {
+            throw new RuntimeException("Access denied: Can only view your own orders");
         }
         
-        orderService.cancelOrder(orderId, customerId);
+        return ResponseEntity.ok(customerSummaryProjection.getSummary(customerId));
+    }
+    
+    @DeleteMapping("/{orderId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('CUSTOMER')")
+    public ResponseEntity<Void> cancelOrder(
+            @AuthenticationPrincipal BrokerageUserPrincipal currentUser,
+            @PathVariable Long orderId) {
+        
+        // Admitted on the caller before any database work: admins don't know the order's customer until it is loaded,
+        // so they are budgeted under their own username
+        String budgetKey = currentUser.isAdmin() ? "admin:" + currentUser.getUsername() : currentUser.getCustomerId();
+        try (OrderAdmissionControl.Permit permit = admissionControl.admitCancel(budgetKey)) {
+            String customerId = currentUser.getCustomerId();
+            if (currentUser.isAdmin()) {
+                Order order = orderService.getOrderById(orderId);
+                customerId = order.getCustomerId();
+            }
+            orderService.cancelOrder(orderId, customerId);
+        }
         return ResponseEntity.ok().build();
     }
     
     @GetMapping("/pending")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Order>> getPendingOrders() {
-        List<Order> orders = orderService.getPendingOrders();
+    public ResponseEntity<List<OrderView>> getPendingOrders() {
+        List<OrderView> orders = orderService.getPendingOrders();
         return ResponseEntity.ok(orders);
     }
     
@@ -0,0 +1,11 @@
+package com.brokerage.dto;
+
+import java.math.BigDecimal;
+
+// Read-only projection of a customer asset
+public record AssetView(Long id,
+                        String customerId,
+                        String assetName,
+                        BigDecimal size,
+                        BigDecimal usableSize) {
+}
@@ -0,0 +1,41 @@
+package com.brokerage.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class BatchOrderRequest {
+    
+    @Valid
+    @NotEmpty(message = "At least one order is required")
+    private List<CreateOrderRequest> orders;
+    
+    // true: one rejected order rejects the whole batch; false: every order that passes is placed
+    private boolean allOrNothing = true;
+    
+    // Constructors
+    public BatchOrderRequest() {}
+    
+    public BatchOrderRequest(List<CreateOrderRequest> orders, boolean allOrNothing) {
+        this.orders = orders;
+        this.allOrNothing = allOrNothing;
+    }
+    
+    // Getters and Setters
+    public List<CreateOrderRequest> getOrders() {
+        return orders;
+    }
+    
+    public void setOrders(List<CreateOrderRequest> orders) {
+        this.orders = orders;
+    }
+    
+    public boolean isAllOrNothing() {
+        return allOrNothing;
+    }
+    
+    public void setAllOrNothing(boolean allOrNothing) {
+        this.allOrNothing = allOrNothing;
+    }
+}
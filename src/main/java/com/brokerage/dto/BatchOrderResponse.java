@@ -0,0 +1,14 @@
+package com.brokerage.dto;
+
+import java.util.List;
+
+public record BatchOrderResponse(boolean allOrNothing,
+                                 int created,
+                                 int rejected,
+                                 List<BatchOrderResult> results) {
+
+    public static BatchOrderResponse of(boolean allOrNothing, List<BatchOrderResult> results) {
+        int created = (int) results.stream().filter(r -> r.status() == BatchOrderResult.Status.CREATED).count();
+        return new BatchOrderResponse(allOrNothing, created, results.size() - created, results);
+    }
+}
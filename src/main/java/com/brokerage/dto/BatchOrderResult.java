@@ -0,0 +1,23 @@
+package com.brokerage.dto;
+
+/**
+ * Outcome of one order in a batch; index is its position in the request.
+ */
+public record BatchOrderResult(int index,
+                               Status status,
+                               OrderView order,
+                               String error) {
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+
+    public static BatchOrderResult created(int index, OrderView order) {
+        return new BatchOrderResult(index, Status.CREATED, order, null);
+    }
+
+    public static BatchOrderResult rejected(int index, String error) {
+        return new BatchOrderResult(index, Status.REJECTED, null, error);
+    }
+}
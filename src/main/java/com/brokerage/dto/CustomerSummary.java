@@ -0,0 +1,17 @@
+package com.brokerage.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+// Materialized per-customer dashboard figures, served as-is by GET /api/orders/summary
+public record CustomerSummary(String customerId,
+                              int openOrders,
+                              Map<String, BigDecimal> reservedByAsset,
+                              BigDecimal realizedVolumeToday,
+                              LocalDate tradingDay) {
+
+    public static CustomerSummary empty(String customerId, LocalDate tradingDay) {
+        return new CustomerSummary(customerId, 0, Map.of(), BigDecimal.ZERO, tradingDay);
+    }
+}
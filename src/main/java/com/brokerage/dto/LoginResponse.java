@@ -1,21 +1,25 @@
 package com.brokerage.dto;
 
-import com.brokerage.model.User;
-
 public class LoginResponse {
     
     private String token;
     private String username;
     private String role;
     private String customerId;
+    private String refreshToken;
     
     public LoginResponse() {}
     
-    public LoginResponse(String token, User user) {
+    public LoginResponse(String token, String username, String role, String customerId) {
         this.token = token;
-        this.username = user.getUsername();
-        this.role = user.getRole().name();
-        this.customerId = user.getCustomerId();
+        this.username = username;
+        this.role = role;
+        this.customerId = customerId;
+    }
+    
+    public LoginResponse(String token, String username, String role, String customerId, String refreshToken) {
+        this(token, username, role, customerId);
+        this.refreshToken = refreshToken;
     }
     
     // Getters and Setters ( this is auto-generated by IntelliJ IDEA, just wanted to point out :))
@@ -50,4 +54,12 @@ public class LoginResponse {
     public void setCustomerId(String customerId) {
         this.customerId = customerId;
     }
-} 
\ No newline at end of file
+    
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.brokerage.dto;
+
+import com.brokerage.model.Order;
+import com.brokerage.model.OrderSide;
+import com.brokerage.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Read-only projection of an order, selected straight from the query without hydrating the entity
+public record OrderView(Long id,
+                        String customerId,
+                        String assetName,
+                        OrderSide orderSide,
+                        BigDecimal size,
+                        BigDecimal price,
+                        OrderStatus status,
+                        LocalDateTime createDate) {
+
+    public static OrderView from(Order order) {
+        return new OrderView(
+            order.getId(),
+            order.getCustomerId(),
+            order.getAssetName(),
+            order.getOrderSide(),
+            order.getSize(),
+            order.getPrice(),
+            order.getStatus(),
+            order.getCreateDate()
+        );
+    }
+}
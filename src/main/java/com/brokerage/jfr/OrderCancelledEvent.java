@@ -0,0 +1,11 @@
+package com.brokerage.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.brokerage.OrderCancelled")
+@Label("Order Cancelled")
+@Description("OrderService.cancelOrder, excluding the commit")
+public class OrderCancelledEvent extends OrderLifecycleEvent {
+}
@@ -0,0 +1,34 @@
+package com.brokerage.jfr;
+
+import com.brokerage.model.Order;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of the order lifecycle JFR events. Each stage is timed with begin()/end() and committed once the order is
+ * known, so stages that run before the insert still carry the order id.
+ */
+@Category({"Brokerage", "Orders"})
+@StackTrace(false)
+public abstract class OrderLifecycleEvent extends Event {
+
+    @Label("Order Id")
+    long orderId;
+
+    @Label("Asset")
+    String asset;
+
+    @Label("Side")
+    String side;
+
+    public void commitFor(Order order) {
+        if (shouldCommit()) {
+            orderId = order.getId() != null ? order.getId() : 0L;
+            asset = order.getAssetName();
+            side = order.getOrderSide() != null ? order.getOrderSide().name() : null;
+            commit();
+        }
+    }
+}
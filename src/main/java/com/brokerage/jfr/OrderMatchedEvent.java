@@ -0,0 +1,11 @@
+package com.brokerage.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.brokerage.OrderMatched")
+@Label("Order Matched")
+@Description("OrderService.matchOrder, excluding the commit")
+public class OrderMatchedEvent extends OrderLifecycleEvent {
+}
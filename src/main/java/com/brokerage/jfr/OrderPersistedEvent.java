@@ -0,0 +1,11 @@
+package com.brokerage.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.brokerage.OrderPersisted")
+@Label("Order Persisted")
+@Description("Insert of the new order row")
+public class OrderPersistedEvent extends OrderLifecycleEvent {
+}
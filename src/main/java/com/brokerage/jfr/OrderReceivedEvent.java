@@ -0,0 +1,11 @@
+package com.brokerage.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.brokerage.OrderReceived")
+@Label("Order Received")
+@Description("OrderService.createOrder or createOrders from entry to the insert, excluding the commit")
+public class OrderReceivedEvent extends OrderLifecycleEvent {
+}
@@ -0,0 +1,87 @@
+package com.brokerage.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns a JFR recording into per-stage latency breakdowns of the order lifecycle events:
+ *
+ *   mvn exec:java -Dexec.mainClass=com.brokerage.jfr.OrderRecordingAnalyzer -Dexec.args="orders.jfr [--by-asset]"
+ *
+ * Prints count, p50/p90/p99/max and total time per stage, optionally split by asset.
+ */
+public class OrderRecordingAnalyzer {
+
+    private static final String EVENT_PREFIX = "com.brokerage.Order";
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    // Lifecycle order for the report; anything else sorts after these
+    private static final String[] STAGES = {"Received", "Validated", "Reserved", "Persisted", "Matched", "Cancelled"};
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("usage: OrderRecordingAnalyzer <recording.jfr> [--by-asset]");
+            System.exit(1);
+        }
+        boolean byAsset = args.length > 1 && "--by-asset".equals(args[1]);
+        Map<String, Histogram> stages = analyze(Path.of(args[0]), byAsset);
+
+        System.out.printf("%-24s %8s %10s %10s %10s %10s %12s%n", "stage", "count", "p50 ms", "p90 ms", "p99 ms", "max ms", "total ms");
+        stages.forEach((stage, histogram) -> System.out.printf("%-24s %8d %10.3f %10.3f %10.3f %10.3f %12.1f%n",
+                stage, histogram.getTotalCount(),
+                toMillis(histogram.getValueAtPercentile(50)),
+                toMillis(histogram.getValueAtPercentile(90)),
+                toMillis(histogram.getValueAtPercentile(99)),
+                toMillis(histogram.getMaxValue()),
+                histogram.getMean() * histogram.getTotalCount() / 1e6));
+    }
+
+    /**
+     * Stage name ("Reserved", or "Reserved AAPL" when split by asset) to a histogram of durations in nanoseconds.
+     */
+    public static Map<String, Histogram> analyze(Path recording, boolean byAsset) throws IOException {
+        Map<String, Histogram> stages = new TreeMap<>(OrderRecordingAnalyzer::compareStages);
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                String type = event.getEventType().getName();
+                if (!type.startsWith(EVENT_PREFIX)) {
+                    continue;
+                }
+                String stage = type.substring(EVENT_PREFIX.length());
+                if (byAsset) {
+                    stage = stage + " " + event.getString("asset");
+                }
+                long nanos = Math.min(event.getDuration().toNanos(), HIGHEST_TRACKABLE_NANOS);
+                stages.computeIfAbsent(stage, s -> new Histogram(HIGHEST_TRACKABLE_NANOS, 3)).recordValue(nanos);
+            }
+        }
+        return new LinkedHashMap<>(stages);
+    }
+
+    private static int compareStages(String a, String b) {
+        int byStage = Integer.compare(stageIndex(a), stageIndex(b));
+        return byStage != 0 ? byStage : a.compareTo(b);
+    }
+
+    private static int stageIndex(String stage) {
+        for (int i = 0; i < STAGES.length; i++) {
+            if (stage.startsWith(STAGES[i])) {
+                return i;
+            }
+        }
+        return STAGES.length;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1e6;
+    }
+}
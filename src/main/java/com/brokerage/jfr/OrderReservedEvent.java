@@ -0,0 +1,11 @@
+package com.brokerage.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.brokerage.OrderReserved")
+@Label("Order Reserved")
+@Description("TRY or asset reservation in AssetService.updateAssetForOrder, or applyReservations for a batch")
+public class OrderReservedEvent extends OrderLifecycleEvent {
+}
@@ -0,0 +1,11 @@
+package com.brokerage.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.brokerage.OrderValidated")
+@Label("Order Validated")
+@Description("Balance lookup before an order is accepted")
+public class OrderValidatedEvent extends OrderLifecycleEvent {
+}
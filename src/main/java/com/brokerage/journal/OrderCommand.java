@@ -0,0 +1,49 @@
+package com.brokerage.journal;
+
+import com.brokerage.dto.CreateOrderRequest;
+import com.brokerage.model.OrderSide;
+
+import java.math.BigDecimal;
+
+/**
+ * One journal entry. Only the fields relevant to the type are set:
+ * CREATE carries the order request, CANCEL/MATCH the order id, COMMIT/ABORT the sequence they resolve.
+ */
+public record OrderCommand(OrderCommandType type,
+                           long sequence,
+                           long timestamp,
+                           String customerId,
+                           String assetName,
+                           OrderSide orderSide,
+                           BigDecimal size,
+                           BigDecimal price,
+                           long orderId,
+                           long referencedSequence) {
+
+    public static OrderCommand create(CreateOrderRequest request) {
+        return new OrderCommand(OrderCommandType.CREATE, 0, 0, request.getCustomerId(), request.getAssetName(),
+                request.getOrderSide(), request.getSize(), request.getPrice(), 0, 0);
+    }
+
+    public static OrderCommand cancel(long orderId, String customerId) {
+        return new OrderCommand(OrderCommandType.CANCEL, 0, 0, customerId, null, null, null, null, orderId, 0);
+    }
+
+    public static OrderCommand match(long orderId) {
+        return new OrderCommand(OrderCommandType.MATCH, 0, 0, null, null, null, null, null, orderId, 0);
+    }
+
+    static OrderCommand marker(long referencedSequence, boolean committed) {
+        return new OrderCommand(committed ? OrderCommandType.COMMIT : OrderCommandType.ABORT,
+                0, 0, null, null, null, null, null, 0, referencedSequence);
+    }
+
+    OrderCommand withSequence(long sequence, long timestamp) {
+        return new OrderCommand(type, sequence, timestamp, customerId, assetName, orderSide, size, price,
+                orderId, referencedSequence);
+    }
+
+    public CreateOrderRequest toCreateOrderRequest() {
+        return new CreateOrderRequest(customerId, assetName, orderSide, size, price);
+    }
+}
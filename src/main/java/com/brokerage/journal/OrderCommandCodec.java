@@ -0,0 +1,112 @@
+package com.brokerage.journal;
+
+import com.brokerage.model.OrderSide;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary form of a journal entry body:
+ * sequence (8) | type (1) | timestamp (8) | type-specific payload.
+ * Strings are length-prefixed UTF-8, decimals are scale + length-prefixed unscaled bytes.
+ * The prefixes are a short and a byte, so encodedSize rejects values that do not fit before anything is written.
+ */
+final class OrderCommandCodec {
+
+    private static final int FIXED_BYTES = Long.BYTES + 1 + Long.BYTES;
+
+    private OrderCommandCodec() {}
+
+    static int encodedSize(OrderCommand command) {
+        int size = FIXED_BYTES;
+        switch (command.type()) {
+            case CREATE -> size += stringSize(command.customerId()) + stringSize(command.assetName()) + 1
+                    + decimalSize(command.size()) + decimalSize(command.price());
+            case CANCEL -> size += Long.BYTES + stringSize(command.customerId());
+            case MATCH -> size += Long.BYTES;
+            case COMMIT, ABORT -> size += Long.BYTES;
+        }
+        return size;
+    }
+
+    static void encode(OrderCommand command, ByteBuffer buffer) {
+        buffer.putLong(command.sequence());
+        buffer.put(command.type().getCode());
+        buffer.putLong(command.timestamp());
+        switch (command.type()) {
+            case CREATE -> {
+                putString(buffer, command.customerId());
+                putString(buffer, command.assetName());
+                buffer.put((byte) command.orderSide().ordinal());
+                putDecimal(buffer, command.size());
+                putDecimal(buffer, command.price());
+            }
+            case CANCEL -> {
+                buffer.putLong(command.orderId());
+                putString(buffer, command.customerId());
+            }
+            case MATCH -> buffer.putLong(command.orderId());
+            case COMMIT, ABORT -> buffer.putLong(command.referencedSequence());
+        }
+    }
+
+    static OrderCommand decode(ByteBuffer buffer) {
+        long sequence = buffer.getLong();
+        OrderCommandType type = OrderCommandType.fromCode(buffer.get());
+        long timestamp = buffer.getLong();
+        return switch (type) {
+            case CREATE -> new OrderCommand(type, sequence, timestamp, getString(buffer), getString(buffer),
+                    OrderSide.values()[buffer.get()], getDecimal(buffer), getDecimal(buffer), 0, 0);
+            case CANCEL -> {
+                long orderId = buffer.getLong();
+                yield new OrderCommand(type, sequence, timestamp, getString(buffer), null, null, null, null, orderId, 0);
+            }
+            case MATCH -> new OrderCommand(type, sequence, timestamp, null, null, null, null, null, buffer.getLong(), 0);
+            case COMMIT, ABORT -> new OrderCommand(type, sequence, timestamp, null, null, null, null, null, 0, buffer.getLong());
+        };
+    }
+
+    private static int stringSize(String value) {
+        int length = value.getBytes(StandardCharsets.UTF_8).length;
+        if (length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Value too long to journal: " + length + " bytes");
+        }
+        return Short.BYTES + length;
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int decimalSize(BigDecimal value) {
+        int length = value.unscaledValue().toByteArray().length;
+        if (length > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Decimal too large to journal: " + value.precision() + " digits");
+        }
+        return Integer.BYTES + 1 + length;
+    }
+
+    private static void putDecimal(ByteBuffer buffer, BigDecimal value) {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        buffer.putInt(value.scale());
+        buffer.put((byte) unscaled.length);
+        buffer.put(unscaled);
+    }
+
+    private static BigDecimal getDecimal(ByteBuffer buffer) {
+        int scale = buffer.getInt();
+        byte[] unscaled = new byte[buffer.get()];
+        buffer.get(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+}
@@ -0,0 +1,425 @@
+package com.brokerage.journal;
+
+import com.brokerage.config.StorageCheckpointScheduler;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, memory-mapped write-ahead log of OrderService commands.
+ *
+ * Every command is appended before it is applied, and a COMMIT or ABORT marker follows once its transaction
+ * completes. Records are length (4) | CRC32C (4) | body; the length is written last, so a torn write reads as
+ * the end of the log. Segments are fixed-size files named journal-&lt;index&gt;.log. The checkpoint file records
+ * the position of the oldest unresolved command (or the end of the log when there is none). On startup everything
+ * after it is scanned, and every command without an ABORT marker is handed to OrderJournalRecovery. COMMIT markers
+ * are not trusted on their own: a crash can lose a marker whose transaction committed, or (with the prod WRITE_DELAY)
+ * keep a marker whose commit never reached disk, so recovery checks each command against the database instead.
+ * For the same reason a checkpoint syncs the database before moving past resolved commands.
+ */
+@Component
+@ConditionalOnProperty(name = "brokerage.journal.enabled", havingValue = "true")
+public class OrderCommandJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderCommandJournal.class);
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int fsyncEvery;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // One checkpoint at a time; a lock rather than synchronized so a virtual thread waiting on the database or disk
+    // releases its carrier
+    private final ReentrantLock checkpointLock = new ReentrantLock();
+    // Unresolved commands by sequence, with where they start in the log
+    private final ConcurrentSkipListMap<Long, Position> inFlight = new ConcurrentSkipListMap<>();
+
+    private record Position(long segment, int offset) {
+    }
+
+    // Guarded by lock
+    private final CRC32C crc = new CRC32C();
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long segmentIndex;
+    private long nextSequence = 1;
+    private int unforced;
+
+    // whenDurable futures by sequence, completed once a force covers them
+    private final ConcurrentSkipListMap<Long, CompletableFuture<Void>> durableWaiters = new ConcurrentSkipListMap<>();
+    private volatile long forcedSequence;
+
+    private volatile List<OrderCommand> recoveredCommands = List.of();
+    private volatile boolean recoveryPending;
+
+    // Only present with the file-backed prod database
+    @Autowired(required = false)
+    private StorageCheckpointScheduler storageCheckpoint;
+
+    public OrderCommandJournal(@Value("${brokerage.journal.dir:./data/journal}") String directory,
+                               @Value("${brokerage.journal.segment-size-mb:64}") int segmentSizeMb,
+                               @Value("${brokerage.journal.fsync-every:64}") int fsyncEvery) {
+        this.directory = Path.of(directory);
+        this.segmentSize = segmentSizeMb * 1024 * 1024;
+        this.fsyncEvery = Math.max(1, fsyncEvery);
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+        long[] checkpoint = readCheckpoint();
+        long checkpointSegment = checkpoint[0];
+        int checkpointPosition = (int) checkpoint[1];
+        long lastSequence = checkpoint[2];
+
+        Map<Long, OrderCommand> recovered = new LinkedHashMap<>();
+        long lastSegment = checkpointSegment;
+        int endPosition = checkpointPosition;
+
+        for (long index : listSegments()) {
+            if (index < checkpointSegment) {
+                continue;
+            }
+            try (FileChannel readChannel = FileChannel.open(segmentPath(index), StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+                buffer.position(index == checkpointSegment ? checkpointPosition : 0);
+                OrderCommand command;
+                while ((command = readNext(buffer)) != null) {
+                    lastSequence = Math.max(lastSequence, command.sequence());
+                    if (command.type() == OrderCommandType.ABORT) {
+                        recovered.remove(command.referencedSequence());
+                    } else if (!command.type().isMarker()) {
+                        recovered.put(command.sequence(), command);
+                    }
+                }
+                lastSegment = index;
+                endPosition = buffer.position();
+            }
+        }
+
+        lock.lock();
+        try {
+            nextSequence = lastSequence + 1;
+            forcedSequence = lastSequence;
+            mapSegment(lastSegment, endPosition);
+        } finally {
+            lock.unlock();
+        }
+
+        recoveredCommands = List.copyOf(recovered.values());
+        recoveryPending = !recoveredCommands.isEmpty();
+        logger.info("Order journal opened at {} (next sequence {}, {} commands to replay)",
+                directory.toAbsolutePath(), nextSequence, recoveredCommands.size());
+    }
+
+    public long append(OrderCommand command) {
+        return append(command, false);
+    }
+
+    /**
+     * Journals a command that will be applied later (async order intake). It stays unresolved, and is replayed
+     * after a crash, until resolve or resolveOnCommit marks it.
+     */
+    public long appendUnresolved(OrderCommand command) {
+        return append(command, true);
+    }
+
+    /**
+     * Journals a command inside the transaction that applies it. The COMMIT/ABORT marker is written
+     * when that transaction completes.
+     */
+    public long appendInTransaction(OrderCommand command) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Order commands must be journaled inside their transaction");
+        }
+        long sequence = append(command, true);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                resolve(sequence, status == STATUS_COMMITTED);
+            }
+        });
+        return sequence;
+    }
+
+    // Commits an appendUnresolved command together with the current transaction; a rollback leaves it unresolved
+    public void resolveOnCommit(long sequence) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Order commands must be resolved inside their transaction");
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                resolve(sequence, true);
+            }
+        });
+    }
+
+    public void resolve(long sequence, boolean committed) {
+        append(OrderCommand.marker(sequence, committed));
+        inFlight.remove(sequence);
+    }
+
+    /**
+     * Completes once the record with this sequence is on disk: at the latest after the next group fsync
+     * (fsync-every records or fsync-interval-ms). Completed on the appending or flushing thread, so callers
+     * should only hand work off from it.
+     */
+    public CompletableFuture<Void> whenDurable(long sequence) {
+        CompletableFuture<Void> durable = new CompletableFuture<>();
+        durableWaiters.put(sequence, durable);
+        // Covers a force that ran between the append and the registration above
+        completeDurable();
+        return durable;
+    }
+
+    public List<OrderCommand> getRecoveredCommands() {
+        return recoveredCommands;
+    }
+
+    public void completeRecovery() {
+        recoveredCommands = List.of();
+        recoveryPending = false;
+        checkpoint();
+    }
+
+    // Group fsync: appends are forced every fsync-every records, and at least this often otherwise
+    @Scheduled(fixedDelayString = "${brokerage.journal.fsync-interval-ms:10}")
+    public void flush() {
+        lock.lock();
+        try {
+            if (unforced > 0) {
+                force();
+            }
+        } finally {
+            lock.unlock();
+        }
+        completeDurable();
+    }
+
+    @Scheduled(fixedDelayString = "${brokerage.journal.checkpoint-interval:PT1M}")
+    public void checkpoint() {
+        checkpointLock.lock();
+        try {
+            checkpointLocked();
+        } finally {
+            checkpointLock.unlock();
+        }
+    }
+
+    private void checkpointLocked() {
+        if (recoveryPending) {
+            return;
+        }
+        Position horizon;
+        long horizonSequence;
+        lock.lock();
+        try {
+            // Nothing before the oldest unresolved command is needed again. Commands only become in-flight under
+            // the lock, and a concurrent resolve can only make this position more conservative than necessary.
+            Map.Entry<Long, Position> oldest = inFlight.firstEntry();
+            force();
+            if (oldest == null) {
+                horizon = new Position(segmentIndex, segment.position());
+                horizonSequence = nextSequence - 1;
+            } else {
+                horizon = oldest.getValue();
+                horizonSequence = oldest.getKey() - 1;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            // Everything before the horizon has committed; make sure the database has it on disk before forgetting it
+            if (storageCheckpoint != null) {
+                storageCheckpoint.checkpoint();
+            }
+            writeCheckpoint(horizon.segment(), horizon.offset(), horizonSequence);
+            deleteSegmentsBefore(horizon.segment());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Order journal checkpoint failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        checkpoint();
+        lock.lock();
+        try {
+            force();
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+        completeDurable();
+    }
+
+    private long append(OrderCommand command, boolean awaitResolution) {
+        lock.lock();
+        try {
+            OrderCommand entry = command.withSequence(nextSequence++, System.currentTimeMillis());
+            int offset = write(entry);
+            // Registered under the lock so a checkpoint can never slip past an unresolved command
+            if (awaitResolution) {
+                inFlight.put(entry.sequence(), new Position(segmentIndex, offset));
+            }
+            return entry.sequence();
+        } finally {
+            lock.unlock();
+            completeDurable();
+        }
+    }
+
+    // Returns the record's offset in the (possibly new) current segment
+    private int write(OrderCommand entry) {
+        int bodySize = OrderCommandCodec.encodedSize(entry);
+        if (segment.remaining() < HEADER_BYTES + bodySize) {
+            roll();
+        }
+
+        int start = segment.position();
+        ByteBuffer body = segment.slice(start + HEADER_BYTES, bodySize);
+        OrderCommandCodec.encode(entry, body);
+        body.flip();
+        crc.reset();
+        crc.update(body);
+
+        segment.putInt(start + Integer.BYTES, (int) crc.getValue());
+        segment.putInt(start, bodySize);
+        segment.position(start + HEADER_BYTES + bodySize);
+
+        if (++unforced >= fsyncEvery) {
+            force();
+        }
+        return start;
+    }
+
+    private OrderCommand readNext(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < HEADER_BYTES) {
+            return null;
+        }
+        int bodySize = buffer.getInt(start);
+        if (bodySize <= 0 || bodySize > buffer.remaining() - HEADER_BYTES) {
+            return null;
+        }
+        ByteBuffer body = buffer.slice(start + HEADER_BYTES, bodySize);
+        crc.reset();
+        crc.update(body);
+        if ((int) crc.getValue() != buffer.getInt(start + Integer.BYTES)) {
+            logger.warn("Order journal record at {} failed its checksum, treating it as the end of the log", start);
+            return null;
+        }
+        body.rewind();
+        buffer.position(start + HEADER_BYTES + bodySize);
+        return OrderCommandCodec.decode(body);
+    }
+
+    private void roll() {
+        try {
+            force();
+            channel.close();
+            mapSegment(segmentIndex + 1, 0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not roll order journal segment", e);
+        }
+    }
+
+    private void mapSegment(long index, int position) throws IOException {
+        channel = FileChannel.open(segmentPath(index),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segment.position(position);
+        segmentIndex = index;
+    }
+
+    private void force() {
+        segment.force();
+        unforced = 0;
+        forcedSequence = nextSequence - 1;
+    }
+
+    // Outside the lock: whatever the futures' callers chain on them runs here
+    private void completeDurable() {
+        if (durableWaiters.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<Long, CompletableFuture<Void>> waiter : durableWaiters.headMap(forcedSequence, true).entrySet()) {
+            if (durableWaiters.remove(waiter.getKey(), waiter.getValue())) {
+                waiter.getValue().complete(null);
+            }
+        }
+    }
+
+    private long[] readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return new long[] {0, 0, 0};
+        }
+        String[] parts = Files.readString(file).trim().split(",");
+        return new long[] {Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2])};
+    }
+
+    private void writeCheckpoint(long index, int position, long sequence) throws IOException {
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.writeString(temp, index + "," + position + "," + sequence);
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private List<Long> listSegments() throws IOException {
+        List<Long> indexes = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .forEach(name -> indexes.add(Long.parseLong(
+                            name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()))));
+        }
+        indexes.sort(null);
+        return indexes;
+    }
+
+    private void deleteSegmentsBefore(long index) throws IOException {
+        for (long existing : listSegments()) {
+            if (existing < index) {
+                Files.deleteIfExists(segmentPath(existing));
+            }
+        }
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+}
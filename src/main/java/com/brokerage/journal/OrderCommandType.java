@@ -0,0 +1,33 @@
+package com.brokerage.journal;
+
+public enum OrderCommandType {
+    CREATE((byte) 1),
+    CANCEL((byte) 2),
+    MATCH((byte) 3),
+    // Markers written once the command's transaction has completed
+    COMMIT((byte) 4),
+    ABORT((byte) 5);
+
+    private final byte code;
+
+    OrderCommandType(byte code) {
+        this.code = code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public boolean isMarker() {
+        return this == COMMIT || this == ABORT;
+    }
+
+    public static OrderCommandType fromCode(byte code) {
+        for (OrderCommandType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown journal command type: " + code);
+    }
+}
@@ -0,0 +1,69 @@
+package com.brokerage.journal;
+
+import com.brokerage.pipeline.OrderSubmissionPipeline;
+import com.brokerage.service.OrderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Replays journaled commands after a crash, checking each against the database rather than trusting the markers.
+ * A CREATE is skipped when an order already carries its journal sequence, and is otherwise replayed under that
+ * same sequence (the unique journal_sequence column makes a second insert impossible). Cancel and match are
+ * naturally idempotent: replaying one on an order that is no longer PENDING fails validation and is skipped.
+ * Replays go through OrderService's replay entry points, which resolve the existing entry instead of appending
+ * a new one, so recovery never grows the journal.
+ */
+@Component
+@ConditionalOnProperty(name = "brokerage.journal.enabled", havingValue = "true")
+public class OrderJournalRecovery implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderJournalRecovery.class);
+
+    @Autowired
+    private OrderCommandJournal commandJournal;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired(required = false)
+    private OrderSubmissionPipeline orderSubmissionPipeline;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int replayed = 0;
+        int alreadyApplied = 0;
+        for (OrderCommand command : commandJournal.getRecoveredCommands()) {
+            try {
+                switch (command.type()) {
+                    case CREATE -> {
+                        if (!orderService.replayCreateOrder(command.toCreateOrderRequest(), command.sequence())) {
+                            alreadyApplied++;
+                            continue;
+                        }
+                    }
+                    case CANCEL -> orderService.replayCancelOrder(command.orderId(), command.customerId(), command.sequence());
+                    case MATCH -> orderService.replayMatchOrder(command.orderId(), command.sequence());
+                    default -> {
+                        continue;
+                    }
+                }
+                replayed++;
+            } catch (RuntimeException e) {
+                if (command.type() == OrderCommandType.CREATE && orderSubmissionPipeline != null) {
+                    orderSubmissionPipeline.recordRecoveryRejection(command.sequence(), command.customerId(), e.getMessage());
+                }
+                logger.warn("Skipped journal entry {} ({}): {}", command.sequence(), command.type(), e.getMessage());
+            }
+        }
+        if (replayed > 0 || alreadyApplied > 0) {
+            logger.info("Replayed {} order commands from the journal, {} creates were already applied",
+                    replayed, alreadyApplied);
+        }
+        commandJournal.completeRecovery();
+    }
+}
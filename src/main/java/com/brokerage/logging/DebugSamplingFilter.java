@@ -0,0 +1,40 @@
+package com.brokerage.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps roughly 1 in rate DEBUG and TRACE events from loggers that have those levels enabled, so turning on DEBUG
+ * in production doesn't flood the appender queue. INFO and above are never sampled. Lock-free: a thread-local
+ * random draw per event.
+ */
+public class DebugSamplingFilter extends TurboFilter {
+
+    private int rate = 100;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.INFO) || rate <= 1) {
+            return FilterReply.NEUTRAL;
+        }
+        // Disabled loggers are left to the normal level check, so sampling never turns an event on. Not
+        // logger.isEnabledFor: that runs the turbo filters again and would recurse into this method
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextInt(rate) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public int getRate() {
+        return rate;
+    }
+
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+}
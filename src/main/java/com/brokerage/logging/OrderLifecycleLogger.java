@@ -0,0 +1,38 @@
+package com.brokerage.logging;
+
+import com.brokerage.readmodel.OrderStateChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * One structured log event per committed order state change, on the "order-lifecycle" logger. With the JSON
+ * encoder each key/value becomes its own field (orderId, customerId, asset, ...); on the console it reads as
+ * key=value pairs.
+ */
+@Component
+public class OrderLifecycleLogger {
+
+    private static final Logger logger = LoggerFactory.getLogger("order-lifecycle");
+
+    // After commit only, so rolled-back orders are never reported
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStateChanged(OrderStateChangedEvent event) {
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+        logger.info("order {} {} {} {} {} {} {} {} {}",
+                kv("event", event.previousStatus() == null ? "created" : event.newStatus().name().toLowerCase()),
+                kv("orderId", event.orderId()),
+                kv("customerId", event.customerId()),
+                kv("asset", event.assetName()),
+                kv("side", event.orderSide()),
+                kv("size", event.size()),
+                kv("price", event.price()),
+                kv("previousStatus", event.previousStatus()),
+                kv("status", event.newStatus()));
+    }
+}
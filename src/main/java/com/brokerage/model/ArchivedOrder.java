@@ -0,0 +1,151 @@
+package com.brokerage.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Terminal (MATCHED / CANCELED) order moved out of the hot "orders" table by the archiver.
+ * Keeps the original order id so history and live orders can be listed together.
+ */
+@Entity
+@Table(name = "orders_history", indexes = {
+    @Index(name = "idx_orders_history_customer_date", columnList = "customer_id, create_date")
+})
+public class ArchivedOrder implements Persistable<Long> {
+
+    @Id
+    private Long id;
+
+    @Column(name = "customer_id", nullable = false)
+    private String customerId;
+
+    @Column(name = "asset_name", nullable = false)
+    private String assetName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_side", nullable = false)
+    private OrderSide orderSide;
+
+    @Column(nullable = false)
+    private BigDecimal size;
+
+    @Column(nullable = false)
+    private BigDecimal price;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
+
+    @Column(name = "create_date", nullable = false)
+    private LocalDateTime createDate;
+
+    @Column(name = "archived_date", nullable = false)
+    private LocalDateTime archivedDate;
+
+    // Ids are copied from the live order, so tell Spring Data to persist instead of merge (no SELECT per row)
+    @Transient
+    private boolean isNew = true;
+
+    // Constructors
+    public ArchivedOrder() {}
+
+    public ArchivedOrder(Order order, LocalDateTime archivedDate) {
+        this.id = order.getId();
+        this.customerId = order.getCustomerId();
+        this.assetName = order.getAssetName();
+        this.orderSide = order.getOrderSide();
+        this.size = order.getSize();
+        this.price = order.getPrice();
+        this.status = order.getStatus();
+        this.createDate = order.getCreateDate();
+        this.archivedDate = archivedDate;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    // Getters and Setters
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(String customerId) {
+        this.customerId = customerId;
+    }
+
+    public String getAssetName() {
+        return assetName;
+    }
+
+    public void setAssetName(String assetName) {
+        this.assetName = assetName;
+    }
+
+    public OrderSide getOrderSide() {
+        return orderSide;
+    }
+
+    public void setOrderSide(OrderSide orderSide) {
+        this.orderSide = orderSide;
+    }
+
+    public BigDecimal getSize() {
+        return size;
+    }
+
+    public void setSize(BigDecimal size) {
+        this.size = size;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreateDate() {
+        return createDate;
+    }
+
+    public void setCreateDate(LocalDateTime createDate) {
+        this.createDate = createDate;
+    }
+
+    public LocalDateTime getArchivedDate() {
+        return archivedDate;
+    }
+
+    public void setArchivedDate(LocalDateTime archivedDate) {
+        this.archivedDate = archivedDate;
+    }
+}
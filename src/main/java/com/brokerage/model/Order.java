@@ -9,7 +9,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_customer_date", columnList = "customer_id, create_date"),
+    @Index(name = "idx_orders_status_date", columnList = "status, create_date")
+})
 public class Order {
     
     @Id
@@ -48,6 +51,10 @@ public class Order {
     @Column(name = "create_date", nullable = false)
     private LocalDateTime createDate;
     
+    // Sequence of the journaled CREATE that placed this order; lets recovery tell applied creates from lost ones
+    @Column(name = "journal_sequence", unique = true)
+    private Long journalSequence;
+    
     // Constructors
     public Order() {}
     
@@ -126,4 +133,12 @@ public class Order {
     public void setCreateDate(LocalDateTime createDate) {
         this.createDate = createDate;
     }
-} 
\ No newline at end of file
+    
+    public Long getJournalSequence() {
+        return journalSequence;
+    }
+    
+    public void setJournalSequence(Long journalSequence) {
+        this.journalSequence = journalSequence;
+    }
+}
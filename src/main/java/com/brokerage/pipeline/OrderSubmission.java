@@ -0,0 +1,30 @@
+package com.brokerage.pipeline;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status of an order accepted through POST /api/orders/async. The handle is the order's journal sequence.
+ */
+public record OrderSubmission(long handle,
+                              String customerId,
+                              Status status,
+                              Long orderId,
+                              String error,
+                              LocalDateTime updatedAt) {
+
+    public enum Status {
+        ACCEPTED, CREATED, REJECTED
+    }
+
+    static OrderSubmission accepted(long handle, String customerId) {
+        return new OrderSubmission(handle, customerId, Status.ACCEPTED, null, null, LocalDateTime.now());
+    }
+
+    OrderSubmission created(long orderId) {
+        return new OrderSubmission(handle, customerId, Status.CREATED, orderId, null, LocalDateTime.now());
+    }
+
+    OrderSubmission rejected(String error) {
+        return new OrderSubmission(handle, customerId, Status.REJECTED, null, error, LocalDateTime.now());
+    }
+}
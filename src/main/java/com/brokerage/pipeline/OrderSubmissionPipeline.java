@@ -0,0 +1,192 @@
+package com.brokerage.pipeline;
+
+import com.brokerage.dto.CreateOrderRequest;
+import com.brokerage.journal.OrderCommand;
+import com.brokerage.journal.OrderCommandJournal;
+import com.brokerage.model.Order;
+import com.brokerage.repository.OrderRepository;
+import com.brokerage.service.OrderService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Async order intake. submit journals the request and answers with a handle once the group fsync has put that
+ * record on disk (no database work); a single worker drains the queue and applies up to batch-size orders per transaction, so intake is bounded by
+ * the journal rather than by database commits. If a batch fails, its orders are retried one transaction each so
+ * one bad order only rejects itself. Orders still queued at a crash are replayed from the journal on restart,
+ * under the same handle, and statuses lost with the restart are answered from the order's journal_sequence.
+ */
+@Component
+@ConditionalOnProperty(name = "brokerage.journal.enabled", havingValue = "true")
+public class OrderSubmissionPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderSubmissionPipeline.class);
+
+    @Autowired
+    private OrderCommandJournal commandJournal;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${brokerage.orders.async.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${brokerage.orders.async.batch-size:100}")
+    private int batchSize;
+
+    @Value("${brokerage.orders.async.status-retention:PT10M}")
+    private Duration statusRetention;
+
+    private final Map<Long, OrderSubmission> submissions = new ConcurrentHashMap<>();
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private Semaphore capacity;
+    private TransactionTemplate transactionTemplate;
+    private Thread worker;
+
+    record Pending(long handle, CreateOrderRequest request) {
+    }
+
+    @PostConstruct
+    public void init() {
+        capacity = new Semaphore(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        worker = new Thread(this::drain, "order-submission-worker");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Durably accepts the order: the returned future completes once its journal record is forced to disk, and only
+     * then is the order queued. Throws if the intake queue is full. The request must already be validated.
+     */
+    public CompletableFuture<OrderSubmission> submit(CreateOrderRequest request) {
+        if (!capacity.tryAcquire()) {
+            throw new RuntimeException("Order intake is full, please retry later.");
+        }
+        long handle;
+        try {
+            handle = commandJournal.appendUnresolved(OrderCommand.create(request));
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+        OrderSubmission submission = OrderSubmission.accepted(handle, request.getCustomerId());
+        submissions.put(handle, submission);
+        return commandJournal.whenDurable(handle).thenApply(durable -> {
+            queue.add(new Pending(handle, request));
+            return submission;
+        });
+    }
+
+    // Statuses are kept in memory; after a restart a created order is still found by its journal sequence
+    public OrderSubmission getSubmission(long handle) {
+        OrderSubmission submission = submissions.get(handle);
+        if (submission != null) {
+            return submission;
+        }
+        return orderRepository.findByJournalSequence(handle)
+            .map(order -> OrderSubmission.accepted(handle, order.getCustomerId()).created(order.getId()))
+            .orElseThrow(() -> new RuntimeException("Order submission not found: " + handle));
+    }
+
+    // Journal recovery could not apply a create; keep the reason for status polling
+    public void recordRecoveryRejection(long handle, String customerId, String error) {
+        submissions.put(handle, OrderSubmission.accepted(handle, customerId).rejected(error));
+    }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            capacity.release(batch.size());
+            try {
+                applyBatch(batch);
+            } catch (RuntimeException e) {
+                logger.error("Order submission batch failed", e);
+            }
+            batch.clear();
+        }
+    }
+
+    // One transaction (one commit) for the whole batch; on failure each order is retried on its own
+    void applyBatch(List<Pending> batch) {
+        List<Order> created;
+        try {
+            created = transactionTemplate.execute(status -> {
+                List<Order> orders = new ArrayList<>(batch.size());
+                for (Pending pending : batch) {
+                    orders.add(orderService.createJournaledOrder(pending.request(), pending.handle()));
+                }
+                return orders;
+            });
+        } catch (RuntimeException batchFailure) {
+            for (Pending pending : batch) {
+                applyOne(pending);
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            complete(batch.get(i).handle(), created.get(i).getId());
+        }
+    }
+
+    private void applyOne(Pending pending) {
+        try {
+            Order order = orderService.createJournaledOrder(pending.request(), pending.handle());
+            complete(pending.handle(), order.getId());
+        } catch (RuntimeException e) {
+            // Rejected for good: mark it in the journal so it is not replayed
+            commandJournal.resolve(pending.handle(), false);
+            submissions.computeIfPresent(pending.handle(), (handle, submission) -> submission.rejected(e.getMessage()));
+        }
+    }
+
+    private void complete(long handle, long orderId) {
+        submissions.computeIfPresent(handle, (key, submission) -> submission.created(orderId));
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void evictCompleted() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(statusRetention);
+        submissions.values().removeIf(submission ->
+            submission.status() != OrderSubmission.Status.ACCEPTED && submission.updatedAt().isBefore(cutoff));
+    }
+
+    // Anything still queued stays unresolved in the journal and is replayed on the next start
+    @PreDestroy
+    public void stop() {
+        worker.interrupt();
+    }
+}
@@ -0,0 +1,126 @@
+package com.brokerage.readmodel;
+
+import com.brokerage.dto.CustomerSummary;
+import com.brokerage.dto.OrderView;
+import com.brokerage.model.OrderSide;
+import com.brokerage.model.OrderStatus;
+import com.brokerage.repository.OrderRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read side for customer dashboards: open order count, reserved amount per asset and today's matched volume.
+ *
+ * Built once from the orders table at startup, then kept current from OrderStateChangedEvents after each commit.
+ * Updates run on a single thread in commit order. Each update replaces the customer's immutable summary, so reads
+ * are a single map lookup.
+ */
+@Component
+public class CustomerSummaryProjection implements SmartInitializingSingleton {
+
+    private static final String TRY = "TRY";
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final Map<String, CustomerSummary> summaries = new ConcurrentHashMap<>();
+
+    private final ExecutorService updater = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "customer-summary-projection");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CustomerSummary getSummary(String customerId) {
+        CustomerSummary summary = summaries.get(customerId);
+        LocalDate today = LocalDate.now();
+        if (summary == null) {
+            return CustomerSummary.empty(customerId, today);
+        }
+        if (!today.equals(summary.tradingDay())) {
+            // No fills yet today: yesterday's volume no longer counts
+            return new CustomerSummary(customerId, summary.openOrders(), summary.reservedByAsset(), BigDecimal.ZERO, today);
+        }
+        return summary;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStateChanged(OrderStateChangedEvent event) {
+        updater.execute(() -> apply(event));
+    }
+
+    // Runs before the web server starts, so no event can be counted twice
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        summaries.clear();
+        for (OrderView order : orderRepository.findViewsByStatus(OrderStatus.PENDING)) {
+            apply(toEvent(order, null));
+        }
+        for (OrderView order : orderRepository.findViewsByStatusAndCreateDateFrom(
+                OrderStatus.MATCHED, LocalDate.now().atStartOfDay())) {
+            apply(toEvent(order, null));
+        }
+    }
+
+    void apply(OrderStateChangedEvent event) {
+        summaries.compute(event.customerId(), (customerId, current) -> next(current, event));
+    }
+
+    private CustomerSummary next(CustomerSummary current, OrderStateChangedEvent event) {
+        LocalDate today = LocalDate.now();
+        CustomerSummary base = current != null ? current : CustomerSummary.empty(event.customerId(), today);
+
+        int openOrders = base.openOrders();
+        Map<String, BigDecimal> reserved = new HashMap<>(base.reservedByAsset());
+        BigDecimal realized = today.equals(base.tradingDay()) ? base.realizedVolumeToday() : BigDecimal.ZERO;
+
+        // Same reservation rule as AssetService.updateAssetForOrder: BUY holds TRY, SELL holds the asset
+        String reservedAsset = event.orderSide() == OrderSide.BUY ? TRY : event.assetName();
+
+        if (event.previousStatus() == null && event.newStatus() == OrderStatus.PENDING) {
+            openOrders++;
+            reserved.merge(reservedAsset, event.size(), BigDecimal::add);
+        } else if (event.previousStatus() == OrderStatus.PENDING) {
+            openOrders--;
+            BigDecimal remaining = reserved.getOrDefault(reservedAsset, BigDecimal.ZERO).subtract(event.size());
+            if (remaining.signum() > 0) {
+                reserved.put(reservedAsset, remaining);
+            } else {
+                reserved.remove(reservedAsset);
+            }
+        }
+
+        if (event.newStatus() == OrderStatus.MATCHED && today.equals(event.occurredAt().toLocalDate())) {
+            realized = realized.add(event.size().multiply(event.price()));
+        }
+
+        return new CustomerSummary(event.customerId(), Math.max(openOrders, 0), Map.copyOf(reserved), realized, today);
+    }
+
+    private OrderStateChangedEvent toEvent(OrderView order, OrderStatus previousStatus) {
+        return new OrderStateChangedEvent(order.id(), order.customerId(), order.assetName(), order.orderSide(),
+                order.size(), order.price(), previousStatus, order.status(), order.createDate());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        updater.shutdown();
+        updater.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
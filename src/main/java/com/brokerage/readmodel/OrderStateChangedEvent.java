@@ -0,0 +1,36 @@
+package com.brokerage.readmodel;
+
+import com.brokerage.model.Order;
+import com.brokerage.model.OrderSide;
+import com.brokerage.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Published by OrderService on every state transition. previousStatus is null for a newly created order.
+ */
+public record OrderStateChangedEvent(Long orderId,
+                                     String customerId,
+                                     String assetName,
+                                     OrderSide orderSide,
+                                     BigDecimal size,
+                                     BigDecimal price,
+                                     OrderStatus previousStatus,
+                                     OrderStatus newStatus,
+                                     LocalDateTime occurredAt) {
+
+    public static OrderStateChangedEvent of(Order order, OrderStatus previousStatus) {
+        return new OrderStateChangedEvent(
+            order.getId(),
+            order.getCustomerId(),
+            order.getAssetName(),
+            order.getOrderSide(),
+            order.getSize(),
+            order.getPrice(),
+            previousStatus,
+            order.getStatus(),
+            LocalDateTime.now()
+        );
+    }
+}
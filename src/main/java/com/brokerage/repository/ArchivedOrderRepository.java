@@ -0,0 +1,24 @@
+package com.brokerage.repository;
+
+import com.brokerage.dto.OrderView;
+import com.brokerage.model.ArchivedOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    @Query("SELECT new com.brokerage.dto.OrderView(o.id, o.customerId, o.assetName, o.orderSide, o.size, o.price, o.status, o.createDate) FROM ArchivedOrder o WHERE o.customerId = :customerId")
+    List<OrderView> findViewsByCustomerId(@Param("customerId") String customerId);
+
+    @Query("SELECT new com.brokerage.dto.OrderView(o.id, o.customerId, o.assetName, o.orderSide, o.size, o.price, o.status, o.createDate) FROM ArchivedOrder o WHERE o.customerId = :customerId " +
+           "AND o.createDate BETWEEN :startDate AND :endDate")
+    List<OrderView> findViewsByCustomerIdAndCreateDateBetween(@Param("customerId") String customerId,
+                                                             @Param("startDate") LocalDateTime startDate,
+                                                             @Param("endDate") LocalDateTime endDate);
+}
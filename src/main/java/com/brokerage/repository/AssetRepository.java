@@ -1,5 +1,6 @@
 package com.brokerage.repository;
 
+import com.brokerage.dto.AssetView;
 import com.brokerage.model.Asset;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -19,4 +20,11 @@ public interface AssetRepository extends JpaRepository<Asset, Long> {
     @Query("SELECT a FROM Asset a WHERE a.customerId = :customerId AND a.assetName = :assetName")
     Optional<Asset> findAssetByCustomerAndName(@Param("customerId") String customerId, 
                                              @Param("assetName") String assetName);
+    
+    @Query("SELECT new com.brokerage.dto.AssetView(a.id, a.customerId, a.assetName, a.size, a.usableSize) FROM Asset a WHERE a.customerId = :customerId")
+    List<AssetView> findViewsByCustomerId(@Param("customerId") String customerId);
+    
+    @Query("SELECT new com.brokerage.dto.AssetView(a.id, a.customerId, a.assetName, a.size, a.usableSize) FROM Asset a WHERE a.customerId = :customerId AND a.assetName = :assetName")
+    Optional<AssetView> findViewByCustomerIdAndAssetName(@Param("customerId") String customerId,
+                                                         @Param("assetName") String assetName);
 } 
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.brokerage.repository;
+
+import com.brokerage.model.Order;
+
+import java.util.List;
+
+/**
+ * Bulk insert for new orders. Orders use IDENTITY ids, which stop Hibernate from batching inserts, so this goes
+ * through JDBC directly.
+ */
+public interface OrderBatchRepository {
+
+    // One JDBC batch in the current transaction; sets the generated id on each order
+    void insertAll(List<Order> orders);
+}
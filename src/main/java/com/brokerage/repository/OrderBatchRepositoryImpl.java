@@ -0,0 +1,61 @@
+package com.brokerage.repository;
+
+import com.brokerage.model.Order;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+public class OrderBatchRepositoryImpl implements OrderBatchRepository {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO orders (customer_id, asset_name, order_side, size, price, status, create_date, journal_sequence) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+            connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Order order = orders.get(i);
+                    ps.setString(1, order.getCustomerId());
+                    ps.setString(2, order.getAssetName());
+                    ps.setString(3, order.getOrderSide().name());
+                    ps.setBigDecimal(4, order.getSize());
+                    ps.setBigDecimal(5, order.getPrice());
+                    ps.setString(6, order.getStatus().name());
+                    ps.setTimestamp(7, Timestamp.valueOf(order.getCreateDate()));
+                    ps.setObject(8, order.getJournalSequence(), Types.BIGINT);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return orders.size();
+                }
+            },
+            keyHolder);
+
+        // One generated key row per order, in batch order
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < orders.size(); i++) {
+            orders.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+    }
+}
@@ -1,17 +1,21 @@
 package com.brokerage.repository;
 
+import com.brokerage.dto.OrderView;
 import com.brokerage.model.Order;
 import com.brokerage.model.OrderStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderBatchRepository {
     
     List<Order> findByCustomerId(String customerId);
     
@@ -23,6 +27,16 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     
     List<Order> findByCustomerIdAndStatus(String customerId, OrderStatus status);
     
+    // Journal recovery: whether the CREATE with this sequence already reached the database
+    boolean existsByJournalSequence(Long journalSequence);
+    
+    Optional<Order> findByJournalSequence(Long journalSequence);
+    
+    // Used by the archiver to pick terminal orders in chunks
+    List<Order> findByStatusInAndCreateDateBefore(Collection<OrderStatus> statuses,
+                                                 LocalDateTime cutoff,
+                                                 Pageable pageable);
+    
     @Query("SELECT o FROM Order o WHERE o.customerId = :customerId " +
            "AND (:startDate IS NULL OR o.createDate >= :startDate) " +
            "AND (:endDate IS NULL OR o.createDate <= :endDate) " +
@@ -30,4 +44,21 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findOrdersWithFilters(@Param("customerId") String customerId,
                                     @Param("startDate") LocalDateTime startDate,
                                     @Param("endDate") LocalDateTime endDate);
+    
+    // Projections for the list endpoints: only the returned columns, no managed entities
+    @Query("SELECT new com.brokerage.dto.OrderView(o.id, o.customerId, o.assetName, o.orderSide, o.size, o.price, o.status, o.createDate) FROM Order o WHERE o.customerId = :customerId")
+    List<OrderView> findViewsByCustomerId(@Param("customerId") String customerId);
+    
+    @Query("SELECT new com.brokerage.dto.OrderView(o.id, o.customerId, o.assetName, o.orderSide, o.size, o.price, o.status, o.createDate) FROM Order o WHERE o.customerId = :customerId " +
+           "AND o.createDate BETWEEN :startDate AND :endDate")
+    List<OrderView> findViewsByCustomerIdAndCreateDateBetween(@Param("customerId") String customerId,
+                                                             @Param("startDate") LocalDateTime startDate,
+                                                             @Param("endDate") LocalDateTime endDate);
+    
+    @Query("SELECT new com.brokerage.dto.OrderView(o.id, o.customerId, o.assetName, o.orderSide, o.size, o.price, o.status, o.createDate) FROM Order o WHERE o.status = :status")
+    List<OrderView> findViewsByStatus(@Param("status") OrderStatus status);
+    
+    @Query("SELECT new com.brokerage.dto.OrderView(o.id, o.customerId, o.assetName, o.orderSide, o.size, o.price, o.status, o.createDate) FROM Order o WHERE o.status = :status AND o.createDate >= :from")
+    List<OrderView> findViewsByStatusAndCreateDateFrom(@Param("status") OrderStatus status,
+                                                       @Param("from") LocalDateTime from);
 } 
\ No newline at end of file
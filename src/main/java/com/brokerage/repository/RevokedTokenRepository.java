@@ -0,0 +1,32 @@
+package com.brokerage.repository;
+
+import com.brokerage.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    @Query("SELECT r.tokenId FROM RevokedToken r WHERE r.expiresAt > :now")
+    List<String> findTokenIdsByExpiresAtAfter(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    // Insert-if-absent: 1 when this call stored the id, 0 when it was already there. Two racing inserts that both
+    // pass NOT EXISTS meet on the primary key instead, so the loser gets a DataIntegrityViolationException.
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO revoked_tokens (token_id, expires_at) SELECT :tokenId, :expiresAt " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM revoked_tokens WHERE token_id = :tokenId)", nativeQuery = true)
+    int insertIfAbsent(@Param("tokenId") String tokenId, @Param("expiresAt") LocalDateTime expiresAt);
+}
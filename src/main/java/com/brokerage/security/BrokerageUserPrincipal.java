@@ -0,0 +1,83 @@
+package com.brokerage.security;
+
+import com.brokerage.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Authenticated user as seen by controllers. Built from the users table at login and from verified
+ * JWT claims on every other request, so customerId and role never need another lookup.
+ * Password is only set on the login path (null when built from a token).
+ */
+public final class BrokerageUserPrincipal implements UserDetails {
+
+    private final String username;
+    private final String password;
+    private final User.UserRole role;
+    private final String customerId;
+    private final List<GrantedAuthority> authorities;
+
+    public BrokerageUserPrincipal(String username, String password, User.UserRole role, String customerId) {
+        this.username = username;
+        this.password = password;
+        this.role = role;
+        this.customerId = customerId;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    public User.UserRole getRole() {
+        return role;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public boolean isAdmin() {
+        return role == User.UserRole.ADMIN;
+    }
+
+    // Admins may act for any customer, customers only for themselves
+    public boolean canAccessCustomer(String requestedCustomerId) {
+        return isAdmin() || (customerId != null && customerId.equals(requestedCustomerId));
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
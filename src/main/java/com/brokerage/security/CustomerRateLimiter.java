@@ -0,0 +1,134 @@
+package com.brokerage.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-customer token buckets for the order endpoints, one set per endpoint class.
+ *
+ * Each bucket is a single AtomicLong holding its theoretical arrival time (GCRA): a request is admitted by
+ * CAS-ing it forward one emission interval, and rejected when that would put it more than a full burst ahead of
+ * now. A bucket whose arrival time has fallen behind now is full, exactly like a new one, so it can be dropped
+ * without changing anyone's limit.
+ *
+ * Buckets live in a Caffeine cache per endpoint class. One that has not been touched for a full burst window
+ * has refilled, so it expires after that long without access. The cache is also capped at max-keys, evicting
+ * the least recently used bucket beyond that, so memory stays bounded even when nothing is idle yet.
+ * Both happen in Caffeine's amortized maintenance rather than in a scan on the request thread.
+ *
+ * BATCH is counted in orders rather than requests: POST /api/orders/batch takes one token per order it carries,
+ * charged by the controller once the body is read.
+ */
+@Component
+public class CustomerRateLimiter {
+
+    public enum EndpointClass {
+        ENTRY, CANCEL, QUERY, BATCH
+    }
+
+    @Value("${brokerage.rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    @Value("${brokerage.rate-limit.entry.per-second:20}")
+    private double entryPerSecond;
+
+    @Value("${brokerage.rate-limit.entry.burst:40}")
+    private int entryBurst;
+
+    @Value("${brokerage.rate-limit.batch.per-second:50}")
+    private double batchPerSecond;
+
+    @Value("${brokerage.rate-limit.batch.burst:500}")
+    private int batchBurst;
+
+    @Value("${brokerage.rate-limit.cancel.per-second:50}")
+    private double cancelPerSecond;
+
+    @Value("${brokerage.rate-limit.cancel.burst:100}")
+    private int cancelBurst;
+
+    @Value("${brokerage.rate-limit.query.per-second:20}")
+    private double queryPerSecond;
+
+    @Value("${brokerage.rate-limit.query.burst:40}")
+    private int queryBurst;
+
+    private final Map<EndpointClass, Limit> limits = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Cache<String, AtomicLong>> buckets = new EnumMap<>(EndpointClass.class);
+
+    private record Limit(long intervalNanos, long burstNanos) {
+        static Limit of(double perSecond, int burst) {
+            long interval = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+            return new Limit(interval, interval * Math.max(1, burst));
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        limits.put(EndpointClass.ENTRY, Limit.of(entryPerSecond, entryBurst));
+        limits.put(EndpointClass.BATCH, Limit.of(batchPerSecond, batchBurst));
+        limits.put(EndpointClass.CANCEL, Limit.of(cancelPerSecond, cancelBurst));
+        limits.put(EndpointClass.QUERY, Limit.of(queryPerSecond, queryBurst));
+        limits.forEach((endpointClass, limit) -> buckets.put(endpointClass, Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(limit.burstNanos()))
+                .build()));
+    }
+
+    /**
+     * Takes one token for the key. Returns 0 if the request is admitted, otherwise how many nanoseconds
+     * until it would be.
+     */
+    public long tryAcquire(EndpointClass endpointClass, String key) {
+        return tryAcquire(endpointClass, key, 1);
+    }
+
+    /**
+     * Takes all the tokens or none. More tokens than the burst are never admitted.
+     */
+    public long tryAcquire(EndpointClass endpointClass, String key, int tokens) {
+        Limit limit = limits.get(endpointClass);
+        AtomicLong bucket = buckets.get(endpointClass).get(key, k -> new AtomicLong(System.nanoTime()));
+
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + limit.intervalNanos() * tokens;
+            long ahead = next - now;
+            if (ahead > limit.burstNanos()) {
+                return ahead - limit.burstNanos();
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Admins are limited per username, customers per account
+    public static String keyFor(BrokerageUserPrincipal principal) {
+        return principal.isAdmin() ? "admin:" + principal.getUsername() : principal.getCustomerId();
+    }
+
+    public static long retryAfterSeconds(long waitNanos) {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        return Math.max(1, (waitNanos + second - 1) / second);
+    }
+
+    public long size() {
+        long size = 0;
+        for (Cache<String, AtomicLong> classBuckets : buckets.values()) {
+            classBuckets.cleanUp();
+            size += classBuckets.estimatedSize();
+        }
+        return size;
+    }
+}
@@ -1,15 +1,15 @@
 package com.brokerage.security;
 
+import com.brokerage.config.TradingMetrics;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -23,13 +23,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtTokenProvider tokenProvider;
     
-    private UserDetailsService userDetailsService;
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
     
     @Autowired
-    @Lazy
-    public void setUserDetailsService(UserDetailsService userDetailsService) {
-        this.userDetailsService = userDetailsService;
-    }
+    private TradingMetrics tradingMetrics;
+    
+    @Autowired
+    private ObservationRegistry observationRegistry;
     
 
     // /api/order'a post isteği geldğinde çalışır.
@@ -37,22 +38,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, 
                                   HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
-        try {
+        long startNanos = System.nanoTime();
+        String outcome = "rejected";
+        // Span covers token verification only; it ends before the rest of the chain runs
+        Observation observation = Observation.start("brokerage.auth.jwt", observationRegistry);
+        try (Observation.Scope scope = observation.openScope()) {
             String jwt = getJwtFromRequest(request);
+            if (!StringUtils.hasText(jwt)) {
+                outcome = "anonymous";
+            }
             
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromJWT(jwt);
-                
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            // Principal comes straight from the verified claims: no users lookup per request.
+            // The revocation check is an in-memory bloom filter lookup unless the token id is a hit.
+            VerifiedToken verified = StringUtils.hasText(jwt) ? tokenProvider.verifyAccessToken(jwt) : null;
+            if (verified != null && !tokenRevocationService.isRevoked(verified.tokenId())) {
+                BrokerageUserPrincipal principal = verified.principal();
                 UsernamePasswordAuthenticationToken authentication = 
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                outcome = "authenticated";
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
+            observation.error(ex);
         }
+        observation.lowCardinalityKeyValue("outcome", outcome).stop();
+        tradingMetrics.recordJwtFilter(outcome, startNanos);
         
         filterChain.doFilter(request, response);
     }
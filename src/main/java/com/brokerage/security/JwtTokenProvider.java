@@ -1,65 +1,139 @@
 package com.brokerage.security;
 
+import com.brokerage.model.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 
 import javax.crypto.SecretKey;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
 
+    private static final String ROLE_CLAIM = "role";
+    private static final String CUSTOMER_ID_CLAIM = "customerId";
+    private static final String TYPE_CLAIM = "type";
+    private static final String ACCESS_TYPE = "access";
+    private static final String REFRESH_TYPE = "refresh";
+
     @Value("${jwt.secret}")             //  Base64 sakladım. -> application.yml: jwt.secret: <BASE64>
     private String jwtSecret;
 
     @Value("${jwt.expiration:900000}")  // milisaniye cinsinden (örn. 15dk)
     private long jwtExpirationInMs;
 
-    private SecretKey getSigningKey() {
+    @Value("${jwt.refresh-expiration:604800000}")  // refresh token ömrü (7 gün)
+    private long refreshExpirationInMs;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    // Key and parser are immutable and thread-safe, so they are built once instead of per call
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    public void init() {
         // Base64 encoded secret key kullanıyoruz:
         byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+        signingKey = Keys.hmacShaKeyFor(keyBytes);
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
     public String generateToken(Authentication authentication) {
-        UserDetails principal = (UserDetails) authentication.getPrincipal();
+        return generateAccessToken((BrokerageUserPrincipal) authentication.getPrincipal());
+    }
+
+    public String generateAccessToken(BrokerageUserPrincipal principal) {
+        return buildToken(principal, ACCESS_TYPE, jwtExpirationInMs);
+    }
+
+    public String generateRefreshToken(BrokerageUserPrincipal principal) {
+        return buildToken(principal, REFRESH_TYPE, refreshExpirationInMs);
+    }
+
+    private String buildToken(BrokerageUserPrincipal principal, String type, long lifetimeInMs) {
         Date now = new Date();
-        Date expiry = new Date(now.getTime() + jwtExpirationInMs);
+        Date expiry = new Date(now.getTime() + lifetimeInMs);
 
+        // role + customerId travel in the token so requests can be authorized without loading the user
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(principal.getUsername())          
+                .claim(TYPE_CLAIM, type)
+                .claim(ROLE_CLAIM, principal.getRole().name())
+                .claim(CUSTOMER_ID_CLAIM, principal.getCustomerId())
                 .issuedAt(now)                            
                 .expiration(expiry)                       
-                .signWith(getSigningKey(), Jwts.SIG.HS512) // SignatureAlgorithm -> Jwts.SIG.HS512 is used for a better security :)
+                .signWith(signingKey, Jwts.SIG.HS512) // SignatureAlgorithm -> Jwts.SIG.HS512 is used for a better security :)
                 .compact();
     }
 
     public String getUsernameFromJWT(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
+        return parseClaims(token).getSubject();
+    }
+
+    /**
+     * Returns the access token's principal and jti, or null if it is invalid, expired, not an access token or
+     * missing claims. Repeat tokens are served from the verified-token cache without checking the signature again.
+     * Revocation is checked by the caller.
+     */
+    public VerifiedToken verifyAccessToken(String token) {
+        VerifiedToken cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        VerifiedToken verified = verify(token, ACCESS_TYPE);
+        if (verified != null) {
+            verifiedTokenCache.put(token, verified);
+        }
+        return verified;
+    }
+
+    public VerifiedToken verifyRefreshToken(String token) {
+        return verify(token, REFRESH_TYPE);
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
+            parseClaims(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
-} 
\ No newline at end of file
+
+    private VerifiedToken verify(String token, String expectedType) {
+        try {
+            Claims claims = parseClaims(token);
+            String role = claims.get(ROLE_CLAIM, String.class);
+            if (!expectedType.equals(claims.get(TYPE_CLAIM, String.class)) || role == null
+                    || claims.getId() == null || claims.getExpiration() == null) {
+                return null;
+            }
+            BrokerageUserPrincipal principal = new BrokerageUserPrincipal(claims.getSubject(), null,
+                    User.UserRole.valueOf(role), claims.get(CUSTOMER_ID_CLAIM, String.class));
+            return new VerifiedToken(principal, claims.getId(), claims.getExpiration().getTime());
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Single verify + parse; every public method goes through here
+    private Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+}
@@ -0,0 +1,57 @@
+package com.brokerage.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated pool for BCrypt work (login verification and registration hashing), so a login burst queues here
+ * instead of pinning every Tomcat worker. Sized to the CPU count with a bounded queue; once both are full,
+ * submit throws RejectedExecutionException and the caller answers 503 straight away.
+ * Stays on platform threads under the virtual profile: BCrypt is CPU-bound, so the pool size is the point.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    @Value("${brokerage.auth.hashing.threads:0}")
+    private int threads;
+
+    @Value("${brokerage.auth.hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${brokerage.auth.hashing.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) throws RejectedExecutionException {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
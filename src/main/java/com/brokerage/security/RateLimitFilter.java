@@ -0,0 +1,72 @@
+package com.brokerage.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Throttles order and asset endpoints per authenticated customer (admins per username). Runs after
+ * JwtAuthenticationFilter; unauthenticated requests pass through and are rejected by authorization as before.
+ * Built by SecurityConfig rather than as a @Component so it only runs inside the security chain.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final CustomerRateLimiter rateLimiter;
+
+    public RateLimitFilter(CustomerRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        CustomerRateLimiter.EndpointClass endpointClass = classify(request);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (endpointClass != null && authentication != null
+                && authentication.getPrincipal() instanceof BrokerageUserPrincipal principal) {
+            long waitNanos = rateLimiter.tryAcquire(endpointClass, CustomerRateLimiter.keyFor(principal));
+            if (waitNanos > 0) {
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(CustomerRateLimiter.retryAfterSeconds(waitNanos)));
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getWriter().write("{\"error\":\"Too many requests, please retry later.\"}");
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static CustomerRateLimiter.EndpointClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+
+        if (path.startsWith("/api/orders")) {
+            // Batches are charged per order by OrderController once the body is read
+            if (HttpMethod.POST.matches(method) && !path.endsWith("/match") && !path.equals("/api/orders/batch")) {
+                return CustomerRateLimiter.EndpointClass.ENTRY;
+            }
+            if (HttpMethod.DELETE.matches(method)) {
+                return CustomerRateLimiter.EndpointClass.CANCEL;
+            }
+            if (HttpMethod.GET.matches(method)) {
+                return CustomerRateLimiter.EndpointClass.QUERY;
+            }
+        } else if (path.startsWith("/api/assets") && HttpMethod.GET.matches(method)) {
+            return CustomerRateLimiter.EndpointClass.QUERY;
+        }
+        return null;
+    }
+}
@@ -1,5 +1,7 @@
 package com.brokerage.security;
 
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,6 +14,9 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 @EnableWebSecurity
@@ -20,8 +25,15 @@ public class SecurityConfig {
     
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    private final CustomerRateLimiter customerRateLimiter;
+    
+    // -1 unless management.server.port moves actuator to its own port (the prod profile does)
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+    
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, CustomerRateLimiter customerRateLimiter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.customerRateLimiter = customerRateLimiter;
     }
     
     @Bean
@@ -30,15 +42,28 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // CompletableFuture handlers finish in an ASYNC dispatch that JwtAuthenticationFilter skips; the
+                // request itself was already authorized, the dispatch only writes its result
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**", "/h2-console/**").permitAll() // IMPORTANT!!!h2-console'a erişim izni development manksatlı eklendi. Added for DEV purposes.
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers(prometheusOnManagementPort()).permitAll() // scraped without a token, but only on the internal port
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .anyRequest().authenticated() // profile(DEV) de yapılabilirdi. Maybe Profiles would be better.
             )
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(new RateLimitFilter(customerRateLimiter), JwtAuthenticationFilter.class)
             .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.disable())); 
         
         return http.build();
     }
     
+    private RequestMatcher prometheusOnManagementPort() {
+        return new AndRequestMatcher(
+            request -> managementPort > 0 && request.getLocalPort() == managementPort,
+            new AntPathRequestMatcher("/actuator/prometheus"));
+    }
+    
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authConfig) throws Exception {
         return authConfig.getAuthenticationManager();
@@ -0,0 +1,115 @@
+package com.brokerage.security;
+
+import com.brokerage.config.ReadYourWritesTracker;
+import com.brokerage.model.RevokedToken;
+import com.brokerage.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Denylist of revoked token ids. revoked_tokens is the exact store; an in-memory bloom filter in front of it
+ * answers "not revoked" for almost every request without touching the database. Only bloom hits (revoked
+ * tokens and the configured false-positive rate) query the table, always on the primary: a replica that has not
+ * caught up would let a token revoked a moment ago through.
+ */
+@Service
+public class TokenRevocationService {
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Value("${brokerage.auth.revocation.expected-entries:100000}")
+    private int expectedEntries;
+
+    @Value("${brokerage.auth.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // Serializes bloom adds with rebuilds so a revocation can't land in a filter that is about to be replaced
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile TokenBloomFilter bloomFilter;
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (!bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        return readYourWritesTracker.readFromPrimary(() -> revokedTokenRepository.existsById(tokenId));
+    }
+
+    public void revoke(VerifiedToken token) {
+        revokedTokenRepository.save(new RevokedToken(token.tokenId(), expiresAt(token)));
+        addToFilter(token.tokenId());
+    }
+
+    /**
+     * Revokes the token unless it already is, as one atomic insert. Returns whether this call did it, so of two
+     * concurrent refreshes with the same token only one gets a new pair.
+     */
+    public boolean revokeIfActive(VerifiedToken token) {
+        boolean revoked;
+        try {
+            revoked = revokedTokenRepository.insertIfAbsent(token.tokenId(), expiresAt(token)) == 1;
+        } catch (DataIntegrityViolationException e) {
+            revoked = false;
+        }
+        if (revoked) {
+            addToFilter(token.tokenId());
+        }
+        return revoked;
+    }
+
+    // Revokes the access token and drops it from the verified-token cache
+    public void revokeAccessToken(String token, VerifiedToken verified) {
+        revoke(verified);
+        verifiedTokenCache.invalidate(token);
+    }
+
+    private void addToFilter(String tokenId) {
+        lock.lock();
+        try {
+            bloomFilter.add(tokenId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static LocalDateTime expiresAt(VerifiedToken token) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(token.expiresAtMillis()), ZoneId.systemDefault());
+    }
+
+    // Expired ids can never match a valid token again, so they are purged and left out of the new filter
+    @Scheduled(fixedDelayString = "${brokerage.auth.revocation.rebuild-interval:PT10M}")
+    public void rebuild() {
+        lock.lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            revokedTokenRepository.deleteExpired(now);
+            List<String> tokenIds = revokedTokenRepository.findTokenIdsByExpiresAtAfter(now);
+            TokenBloomFilter filter = new TokenBloomFilter(Math.max(expectedEntries, tokenIds.size() * 2), falsePositiveRate);
+            tokenIds.forEach(filter::add);
+            bloomFilter = filter;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
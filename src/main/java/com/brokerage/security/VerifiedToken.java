@@ -0,0 +1,7 @@
+package com.brokerage.security;
+
+/**
+ * A JWT whose signature and expiry have been checked. tokenId is the jti claim, used for revocation.
+ */
+public record VerifiedToken(BrokerageUserPrincipal principal, String tokenId, long expiresAtMillis) {
+}
@@ -0,0 +1,69 @@
+package com.brokerage.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recently verified JWTs, keyed by the SHA-256 of the token so raw bearer tokens are never retained.
+ * An entry is only served until the token's own exp claim, and the cache stops admitting new tokens once it holds
+ * max-entries until expired ones are evicted.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    @Value("${jwt.verified-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private final Map<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+
+    public VerifiedToken get(String token) {
+        String key = hash(token);
+        VerifiedToken entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        if (maxEntries <= 0 || entries.size() >= maxEntries) {
+            return;
+        }
+        entries.put(hash(token), verified);
+    }
+
+    public void invalidate(String token) {
+        entries.remove(hash(token));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
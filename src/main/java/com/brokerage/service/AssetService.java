@@ -1,27 +1,51 @@
 package com.brokerage.service;
 
+import com.brokerage.config.ReadYourWritesTracker;
+import com.brokerage.config.TradingMetrics;
+import com.brokerage.dto.AssetView;
+import com.brokerage.dto.CreateOrderRequest;
 import com.brokerage.model.Asset;
 import com.brokerage.model.OrderSide;
 import com.brokerage.repository.AssetRepository;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
+@Observed(name = "brokerage.service")
 public class AssetService {
     
     @Autowired
     private AssetRepository assetRepository;
     
-    public List<Asset> getCustomerAssets(String customerId) {
-        return assetRepository.findByCustomerId(customerId);
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+    
+    @Autowired
+    private TradingMetrics tradingMetrics;
+    
+    @Transactional(readOnly = true)
+    public List<AssetView> getCustomerAssets(String customerId) {
+        return readYourWritesTracker.read(customerId, () -> assetRepository.findViewsByCustomerId(customerId));
+    }
+    
+    @Transactional(readOnly = true)
+    public AssetView getCustomerAssetView(String customerId, String assetName) {
+        return readYourWritesTracker.read(customerId, () -> assetRepository.findViewByCustomerIdAndAssetName(customerId, assetName))
+                .orElseThrow(() -> new RuntimeException("Asset not found: " + assetName + " for customer: " + customerId));
     }
     
+    // Read-only only takes effect when called on its own; inside order entry it joins the write transaction
+    @Transactional(readOnly = true)
     public Asset getCustomerAsset(String customerId, String assetName) {
-        return assetRepository.findByCustomerIdAndAssetName(customerId, assetName)
+        return readYourWritesTracker.read(customerId, () -> assetRepository.findByCustomerIdAndAssetName(customerId, assetName))
                 .orElseThrow(() -> new RuntimeException("Asset not found: " + assetName + " for customer: " + customerId));
     }
     
@@ -33,6 +57,7 @@ public class AssetService {
             // For BUY orders, we need TRY (money) to purchase the asset
             Asset tryAsset = getCustomerAsset(customerId, "TRY");
             if (tryAsset.getUsableSize().compareTo(size) < 0) {
+                tradingMetrics.recordReservation(assetName, orderSide, false);
                 throw new RuntimeException("Insufficient TRY balance for order");
             }
             tryAsset.setUsableSize(tryAsset.getUsableSize().subtract(size));
@@ -40,11 +65,67 @@ public class AssetService {
         } else {
             // For SELL orders, we need the asset to sell
             if (asset.getUsableSize().compareTo(size) < 0) {
+                tradingMetrics.recordReservation(assetName, orderSide, false);
                 throw new RuntimeException("Insufficient asset balance for order");
             }
             asset.setUsableSize(asset.getUsableSize().subtract(size));
             assetRepository.save(asset);
         }
+        tradingMetrics.recordReservation(assetName, orderSide, true);
+    }
+    
+    /**
+     * Works out one customer's reservations for a basket of orders from a single lookup of their assets, applying
+     * the same checks as updateAssetForOrder in request order. Nothing is changed until applyReservations, so an
+     * all-or-nothing batch can still back out.
+     */
+    @Transactional(readOnly = true)
+    public ReservationPlan planReservations(String customerId, List<CreateOrderRequest> requests) {
+        Map<String, Asset> holdings = new HashMap<>();
+        for (Asset asset : readYourWritesTracker.read(customerId, () -> assetRepository.findByCustomerId(customerId))) {
+            holdings.put(asset.getAssetName(), asset);
+        }
+        
+        Map<String, BigDecimal> usableAfter = new HashMap<>();
+        List<String> rejections = new ArrayList<>(requests.size());
+        for (CreateOrderRequest request : requests) {
+            String assetName = request.getAssetName();
+            // BUY orders reserve TRY, SELL orders reserve the asset itself
+            String reservedAsset = request.getOrderSide() == OrderSide.BUY ? "TRY" : assetName;
+            if (!holdings.containsKey(assetName) || !holdings.containsKey(reservedAsset)) {
+                String missing = holdings.containsKey(assetName) ? reservedAsset : assetName;
+                rejections.add("Asset not found: " + missing + " for customer: " + customerId);
+                continue;
+            }
+            
+            BigDecimal usable = usableAfter.getOrDefault(reservedAsset, holdings.get(reservedAsset).getUsableSize());
+            if (usable.compareTo(request.getSize()) < 0) {
+                tradingMetrics.recordReservation(assetName, request.getOrderSide(), false);
+                rejections.add(request.getOrderSide() == OrderSide.BUY
+                        ? "Insufficient TRY balance for order"
+                        : "Insufficient asset balance for order");
+                continue;
+            }
+            usableAfter.put(reservedAsset, usable.subtract(request.getSize()));
+            rejections.add(null);
+        }
+        return new ReservationPlan(customerId, requests, holdings, usableAfter, rejections);
+    }
+    
+    // One UPDATE per (customer, asset) the plan touched, however many orders reserved against it
+    @Transactional
+    public void applyReservations(ReservationPlan plan) {
+        for (Map.Entry<String, BigDecimal> entry : plan.usableAfter().entrySet()) {
+            Asset asset = plan.holdings().get(entry.getKey());
+            asset.setUsableSize(entry.getValue());
+            assetRepository.save(asset);
+        }
+        for (int i = 0; i < plan.requests().size(); i++) {
+            if (plan.isAccepted(i)) {
+                CreateOrderRequest request = plan.requests().get(i);
+                tradingMetrics.recordReservation(request.getAssetName(), request.getOrderSide(), true);
+            }
+        }
     }
     
     @Transactional
@@ -85,4 +166,23 @@ public class AssetService {
         Asset tryAsset = new Asset(customerId, "TRY", BigDecimal.ZERO, BigDecimal.ZERO);
         assetRepository.save(tryAsset);
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Reservations for one customer's orders. rejections lines up with requests: null where the order can be
+     * reserved, otherwise the reason it cannot.
+     */
+    public record ReservationPlan(String customerId,
+                                  List<CreateOrderRequest> requests,
+                                  Map<String, Asset> holdings,
+                                  Map<String, BigDecimal> usableAfter,
+                                  List<String> rejections) {
+        
+        public boolean isAccepted(int index) {
+            return rejections.get(index) == null;
+        }
+        
+        public boolean hasRejections() {
+            return rejections.stream().anyMatch(r -> r != null);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.brokerage.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out customer ids from the customer_id_seq database sequence in blocks (hi/lo).
+ *
+ * The sequence increments by BLOCK_SIZE, so each value reserves BLOCK_SIZE ids for this instance and only one
+ * call in BLOCK_SIZE goes to the database. Ids are never reused; a restart skips the rest of the current block.
+ * Numbering starts at 1000, above the old random CUST000-CUST999 range, and grows past 4 digits as needed.
+ */
+@Component
+public class CustomerIdAllocator {
+
+    static final int BLOCK_SIZE = 50;
+    private static final String SEQUENCE = "customer_id_seq";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock
+    private long next;
+    private long blockEnd;
+
+    // Also declared in db/schema-h2.sql for the prod profile; Hibernate does not create it in dev
+    @PostConstruct
+    public void createSequence() {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + SEQUENCE + " START WITH 1000 INCREMENT BY " + BLOCK_SIZE);
+    }
+
+    public String nextCustomerId() {
+        lock.lock();
+        try {
+            if (next >= blockEnd) {
+                Long blockStart = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + SEQUENCE, Long.class);
+                next = blockStart;
+                blockEnd = blockStart + BLOCK_SIZE;
+            }
+            return String.format("CUST%03d", next++);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.brokerage.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-flight budgets for order entry and cancellation, checked before any database work so a hot asset or a
+ * runaway client is turned away at once instead of queueing in Tomcat and the connection pool.
+ *
+ * New orders count against their customer's and their asset's budget. Cancels only count against the customer's,
+ * with cancel-headroom extra slots, so a customer whose order budget is full can still cancel. Counters are
+ * removed as they drop to zero, so memory tracks only what is in flight.
+ */
+@Component
+public class OrderAdmissionControl {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${brokerage.admission.asset-max-in-flight:64}")
+    private int assetMaxInFlight;
+
+    @Value("${brokerage.admission.customer-max-in-flight:8}")
+    private int customerMaxInFlight;
+
+    @Value("${brokerage.admission.cancel-headroom:4}")
+    private int cancelHeadroom;
+
+    private final Map<String, Integer> assetInFlight = new ConcurrentHashMap<>();
+    private final Map<String, Integer> customerInFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger createsInFlight = new AtomicInteger();
+    private final AtomicInteger cancelsInFlight = new AtomicInteger();
+
+    private Counter assetRejections;
+    private Counter customerRejections;
+    private Counter cancelRejections;
+
+    /**
+     * Released when closed; use with try-with-resources around the service call.
+     */
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public static class AdmissionRejectedException extends RuntimeException {
+        public AdmissionRejectedException(String message) {
+            super(message);
+        }
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("brokerage.admission.in_flight", createsInFlight, AtomicInteger::get)
+                .tag("operation", "create").register(meterRegistry);
+        Gauge.builder("brokerage.admission.in_flight", cancelsInFlight, AtomicInteger::get)
+                .tag("operation", "cancel").register(meterRegistry);
+        Gauge.builder("brokerage.admission.busy_assets", assetInFlight, Map::size).register(meterRegistry);
+        assetRejections = rejectionCounter("create", "asset");
+        customerRejections = rejectionCounter("create", "customer");
+        cancelRejections = rejectionCounter("cancel", "customer");
+    }
+
+    public Permit admitCreate(String customerId, String assetName) {
+        if (!tryIncrement(customerInFlight, customerId, customerMaxInFlight)) {
+            customerRejections.increment();
+            throw new AdmissionRejectedException("Too many orders in progress for customer " + customerId + ", please retry.");
+        }
+        if (!tryIncrement(assetInFlight, assetName, assetMaxInFlight)) {
+            decrement(customerInFlight, customerId);
+            assetRejections.increment();
+            throw new AdmissionRejectedException("Too many orders in progress for " + assetName + ", please retry.");
+        }
+        createsInFlight.incrementAndGet();
+        return releaseOnce(() -> {
+            createsInFlight.decrementAndGet();
+            decrement(assetInFlight, assetName);
+            decrement(customerInFlight, customerId);
+        });
+    }
+
+    /**
+     * A batch counts each of its orders against its customer's and asset's budgets, capped at the whole budget:
+     * a batch larger than a budget needs all of it free and holds it until the batch is done.
+     */
+    public Permit admitBatch(Map<String, ? extends Map<String, Integer>> orderCountsByCustomer) {
+        List<Runnable> releases = new ArrayList<>();
+        int orders = 0;
+        try {
+            for (Map.Entry<String, ? extends Map<String, Integer>> entry : orderCountsByCustomer.entrySet()) {
+                String customerId = entry.getKey();
+                int customerOrders = 0;
+                for (int count : entry.getValue().values()) {
+                    customerOrders += count;
+                }
+                int customerSlots = Math.min(customerOrders, customerMaxInFlight);
+                if (!tryIncrement(customerInFlight, customerId, customerMaxInFlight, customerSlots)) {
+                    customerRejections.increment();
+                    throw new AdmissionRejectedException("Too many orders in progress for customer " + customerId + ", please retry.");
+                }
+                releases.add(() -> decrement(customerInFlight, customerId, customerSlots));
+                for (Map.Entry<String, Integer> assetOrders : entry.getValue().entrySet()) {
+                    String assetName = assetOrders.getKey();
+                    int assetSlots = Math.min(assetOrders.getValue(), assetMaxInFlight);
+                    if (!tryIncrement(assetInFlight, assetName, assetMaxInFlight, assetSlots)) {
+                        assetRejections.increment();
+                        throw new AdmissionRejectedException("Too many orders in progress for " + assetName + ", please retry.");
+                    }
+                    releases.add(() -> decrement(assetInFlight, assetName, assetSlots));
+                }
+                orders += customerOrders;
+            }
+        } catch (AdmissionRejectedException e) {
+            releases.forEach(Runnable::run);
+            throw e;
+        }
+        int batchOrders = orders;
+        createsInFlight.addAndGet(batchOrders);
+        return releaseOnce(() -> {
+            createsInFlight.addAndGet(-batchOrders);
+            releases.forEach(Runnable::run);
+        });
+    }
+
+    public Permit admitCancel(String customerId) {
+        if (!tryIncrement(customerInFlight, customerId, customerMaxInFlight + cancelHeadroom)) {
+            cancelRejections.increment();
+            throw new AdmissionRejectedException("Too many requests in progress for customer " + customerId + ", please retry.");
+        }
+        cancelsInFlight.incrementAndGet();
+        return releaseOnce(() -> {
+            cancelsInFlight.decrementAndGet();
+            decrement(customerInFlight, customerId);
+        });
+    }
+
+    private static boolean tryIncrement(Map<String, Integer> counters, String key, int limit) {
+        return tryIncrement(counters, key, limit, 1);
+    }
+
+    private static boolean tryIncrement(Map<String, Integer> counters, String key, int limit, int slots) {
+        boolean[] admitted = new boolean[1];
+        counters.compute(key, (k, current) -> {
+            int inFlight = current == null ? 0 : current;
+            if (inFlight + slots > limit) {
+                return current;
+            }
+            admitted[0] = true;
+            return inFlight + slots;
+        });
+        return admitted[0];
+    }
+
+    private static void decrement(Map<String, Integer> counters, String key) {
+        decrement(counters, key, 1);
+    }
+
+    private static void decrement(Map<String, Integer> counters, String key, int slots) {
+        counters.computeIfPresent(key, (k, current) -> current <= slots ? null : current - slots);
+    }
+
+    private static Permit releaseOnce(Runnable release) {
+        AtomicInteger released = new AtomicInteger();
+        return () -> {
+            if (released.compareAndSet(0, 1)) {
+                release.run();
+            }
+        };
+    }
+
+    private Counter rejectionCounter(String operation, String budget) {
+        return Counter.builder("brokerage.admission.rejected")
+                .tag("operation", operation)
+                .tag("budget", budget)
+                .register(meterRegistry);
+    }
+}
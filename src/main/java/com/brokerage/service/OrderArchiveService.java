@@ -0,0 +1,79 @@
+package com.brokerage.service;
+
+import com.brokerage.dto.OrderView;
+import com.brokerage.model.ArchivedOrder;
+import com.brokerage.model.Order;
+import com.brokerage.model.OrderStatus;
+import com.brokerage.repository.ArchivedOrderRepository;
+import com.brokerage.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@Service
+public class OrderArchiveService {
+
+    private static final List<OrderStatus> TERMINAL_STATUSES = List.of(OrderStatus.MATCHED, OrderStatus.CANCELED);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Value("${brokerage.archive.min-age-days:30}")
+    private long minAgeDays;
+
+    @Value("${brokerage.archive.batch-size:500}")
+    private int batchSize;
+
+    // Everything in orders_history was created before this point
+    public LocalDateTime archiveHorizon() {
+        return LocalDateTime.now().minusDays(minAgeDays);
+    }
+
+    /**
+     * Moves one chunk of terminal orders created before the cutoff into orders_history.
+     * Returns the number of orders moved, 0 when there is nothing left to archive.
+     */
+    @Transactional
+    public int archiveBatch(LocalDateTime cutoff) {
+        List<Order> batch = orderRepository.findByStatusInAndCreateDateBefore(
+            TERMINAL_STATUSES, cutoff, PageRequest.of(0, batchSize, Sort.by("id")));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime archivedDate = LocalDateTime.now();
+        List<ArchivedOrder> archived = new ArrayList<>(batch.size());
+        for (Order order : batch) {
+            archived.add(new ArchivedOrder(order, archivedDate));
+        }
+
+        archivedOrderRepository.saveAll(archived);
+        orderRepository.deleteAllInBatch(batch);
+        return batch.size();
+    }
+
+    // Only hits orders_history when the requested range reaches back past the archive horizon
+    @Transactional(readOnly = true)
+    public List<OrderView> findCustomerHistory(String customerId, LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate != null && !startDate.isBefore(archiveHorizon())) {
+            return Collections.emptyList();
+        }
+
+        if (startDate != null) {
+            return archivedOrderRepository.findViewsByCustomerIdAndCreateDateBetween(
+                customerId, startDate, endDate != null ? endDate : LocalDateTime.now());
+        }
+        return archivedOrderRepository.findViewsByCustomerId(customerId);
+    }
+}
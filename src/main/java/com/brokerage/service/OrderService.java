@@ -1,19 +1,42 @@
 package com.brokerage.service;
 
+import com.brokerage.config.ReadYourWritesTracker;
+import com.brokerage.config.TradingMetrics;
+import com.brokerage.dto.BatchOrderResult;
 import com.brokerage.dto.CreateOrderRequest;
+import com.brokerage.dto.OrderView;
+import com.brokerage.jfr.OrderCancelledEvent;
+import com.brokerage.jfr.OrderLifecycleEvent;
+import com.brokerage.jfr.OrderMatchedEvent;
+import com.brokerage.jfr.OrderPersistedEvent;
+import com.brokerage.jfr.OrderReceivedEvent;
+import com.brokerage.jfr.OrderReservedEvent;
+import com.brokerage.jfr.OrderValidatedEvent;
+import com.brokerage.journal.OrderCommand;
+import com.brokerage.journal.OrderCommandJournal;
 import com.brokerage.model.Order;
 import com.brokerage.model.OrderSide;
 import com.brokerage.model.OrderStatus;
+import com.brokerage.readmodel.OrderStateChangedEvent;
 import com.brokerage.repository.OrderRepository;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 @Service
+@Observed(name = "brokerage.service")
 public class OrderService {
     
     @Autowired
@@ -22,104 +45,380 @@ public class OrderService {
     @Autowired
     private AssetService assetService;
     
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+    
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private TradingMetrics tradingMetrics;
+    
+    // Only present when brokerage.journal.enabled=true
+    @Autowired(required = false)
+    private OrderCommandJournal commandJournal;
+    
     @Transactional
     public Order createOrder(CreateOrderRequest request) {
-        // Validate asset availability before creating order
-        if (request.getOrderSide() == OrderSide.BUY) {
-            // For BUY orders, check if customer has enough TRY
-            assetService.getCustomerAsset(request.getCustomerId(), "TRY");
-        } else {
-            // For SELL orders, check if customer has enough of the asset
-            assetService.getCustomerAsset(request.getCustomerId(), request.getAssetName());
+        long startNanos = System.nanoTime();
+        Long journalSequence = journal(OrderCommand.create(request));
+        return applyCreateOrder(request, journalSequence, startNanos);
+    }
+    
+    // Applies a create the async intake already journaled; that journal entry is resolved when this transaction commits
+    @Transactional
+    public Order createJournaledOrder(CreateOrderRequest request, long journalSequence) {
+        if (commandJournal == null) {
+            throw new IllegalStateException("Journaled orders require brokerage.journal.enabled=true");
+        }
+        long startNanos = System.nanoTime();
+        commandJournal.resolveOnCommit(journalSequence);
+        return applyCreateOrder(request, journalSequence, startNanos);
+    }
+    
+    /**
+     * Journal recovery: applies a journaled create unless an order already carries its sequence. The check runs in
+     * this read-write transaction and so on the primary, where a lagging replica cannot hide an applied create.
+     * Returns false when it was already applied.
+     */
+    @Transactional
+    public boolean replayCreateOrder(CreateOrderRequest request, long journalSequence) {
+        if (orderRepository.existsByJournalSequence(journalSequence)) {
+            return false;
         }
+        createJournaledOrder(request, journalSequence);
+        return true;
+    }
+    
+    private Order applyCreateOrder(CreateOrderRequest request, Long journalSequence, long startNanos) {
+        boolean succeeded = false;
+        OrderReceivedEvent received = new OrderReceivedEvent();
+        received.begin();
+        try {
+            readYourWritesTracker.recordWrite(request.getCustomerId());
         
-        // Create the order
-        Order order = new Order(
-            request.getCustomerId(),
-            request.getAssetName(),
-            request.getOrderSide(),
-            request.getSize(),
-            request.getPrice()
-        );
+            // Validate asset availability before creating order
+            OrderValidatedEvent validated = new OrderValidatedEvent();
+            validated.begin();
+            if (request.getOrderSide() == OrderSide.BUY) {
+                // For BUY orders, check if customer has enough TRY
+                assetService.getCustomerAsset(request.getCustomerId(), "TRY");
+            } else {
+                // For SELL orders, check if customer has enough of the asset
+                assetService.getCustomerAsset(request.getCustomerId(), request.getAssetName());
+            }
+            validated.end();
         
-        // Update assets (reserve TRY or asset)
-        assetService.updateAssetForOrder(
-            request.getCustomerId(),
-            request.getAssetName(),
-            request.getOrderSide(),
-            request.getSize()
-        );
+            // Create the order
+            Order order = new Order(
+                request.getCustomerId(),
+                request.getAssetName(),
+                request.getOrderSide(),
+                request.getSize(),
+                request.getPrice()
+            );
+            order.setJournalSequence(journalSequence);
         
-        return orderRepository.save(order);
+            // Update assets (reserve TRY or asset)
+            OrderReservedEvent reserved = new OrderReservedEvent();
+            reserved.begin();
+            assetService.updateAssetForOrder(
+                request.getCustomerId(),
+                request.getAssetName(),
+                request.getOrderSide(),
+                request.getSize()
+            );
+            reserved.end();
+        
+            OrderPersistedEvent persisted = new OrderPersistedEvent();
+            persisted.begin();
+            Order saved = orderRepository.save(order);
+            persisted.end();
+            eventPublisher.publishEvent(OrderStateChangedEvent.of(saved, null));
+            
+            // Committed together once the id is known; each keeps the time span it was ended with
+            validated.commitFor(saved);
+            reserved.commitFor(saved);
+            persisted.commitFor(saved);
+            received.end();
+            received.commitFor(saved);
+            succeeded = true;
+            return saved;
+        } finally {
+            tradingMetrics.recordOrderCommand("create", request.getAssetName(), request.getOrderSide(), succeeded, startNanos);
+        }
+    }
+    
+    /**
+     * Places a basket of orders in one transaction: one asset lookup per customer, one balance update per
+     * (customer, asset) and a single batched insert. With allOrNothing a single rejected order leaves everything
+     * untouched; otherwise each order that passes is placed. Results are in request order.
+     */
+    @Transactional
+    public List<BatchOrderResult> createOrders(List<CreateOrderRequest> requests, boolean allOrNothing) {
+        long startNanos = System.nanoTime();
+        boolean succeeded = false;
+        OrderLifecycleEvent[] received = new OrderLifecycleEvent[requests.size()];
+        OrderLifecycleEvent[] validated = new OrderLifecycleEvent[requests.size()];
+        OrderLifecycleEvent[] reserved = new OrderLifecycleEvent[requests.size()];
+        OrderLifecycleEvent[] persisted = new OrderLifecycleEvent[requests.size()];
+        try {
+            Map<String, List<Integer>> indexesByCustomer = new LinkedHashMap<>();
+            for (int i = 0; i < requests.size(); i++) {
+                received[i] = new OrderReceivedEvent();
+                received[i].begin();
+                indexesByCustomer.computeIfAbsent(requests.get(i).getCustomerId(), c -> new ArrayList<>()).add(i);
+            }
+            
+            List<AssetService.ReservationPlan> plans = new ArrayList<>(indexesByCustomer.size());
+            String[] rejections = new String[requests.size()];
+            boolean anyRejected = false;
+            for (Map.Entry<String, List<Integer>> entry : indexesByCustomer.entrySet()) {
+                readYourWritesTracker.recordWrite(entry.getKey());
+                List<Integer> indexes = entry.getValue();
+                beginStage(validated, indexes, OrderValidatedEvent::new);
+                AssetService.ReservationPlan plan = assetService.planReservations(
+                    entry.getKey(), indexes.stream().map(requests::get).toList());
+                endStage(validated, indexes);
+                for (int j = 0; j < indexes.size(); j++) {
+                    rejections[indexes.get(j)] = plan.rejections().get(j);
+                }
+                anyRejected |= plan.hasRejections();
+                plans.add(plan);
+            }
+            
+            BatchOrderResult[] results = new BatchOrderResult[requests.size()];
+            if (allOrNothing && anyRejected) {
+                for (int i = 0; i < requests.size(); i++) {
+                    results[i] = BatchOrderResult.rejected(i, rejections[i] != null
+                        ? rejections[i]
+                        : "Not placed: another order in the batch was rejected");
+                }
+                succeeded = true;
+                return Arrays.asList(results);
+            }
+            
+            // Best effort plans only hold the accepted orders' reservations, so applying them is safe either way
+            Iterator<List<Integer>> planIndexes = indexesByCustomer.values().iterator();
+            for (AssetService.ReservationPlan plan : plans) {
+                List<Integer> indexes = planIndexes.next();
+                beginStage(reserved, indexes, OrderReservedEvent::new);
+                assetService.applyReservations(plan);
+                endStage(reserved, indexes);
+            }
+            
+            List<Order> orders = new ArrayList<>(requests.size());
+            List<Integer> orderIndexes = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                if (rejections[i] != null) {
+                    results[i] = BatchOrderResult.rejected(i, rejections[i]);
+                    continue;
+                }
+                CreateOrderRequest request = requests.get(i);
+                Order order = new Order(
+                    request.getCustomerId(),
+                    request.getAssetName(),
+                    request.getOrderSide(),
+                    request.getSize(),
+                    request.getPrice()
+                );
+                order.setJournalSequence(journal(OrderCommand.create(request)));
+                orders.add(order);
+                orderIndexes.add(i);
+            }
+            
+            beginStage(persisted, orderIndexes, OrderPersistedEvent::new);
+            orderRepository.insertAll(orders);
+            endStage(persisted, orderIndexes);
+            for (int k = 0; k < orders.size(); k++) {
+                Order saved = orders.get(k);
+                int index = orderIndexes.get(k);
+                eventPublisher.publishEvent(OrderStateChangedEvent.of(saved, null));
+                results[index] = BatchOrderResult.created(index, OrderView.from(saved));
+                
+                // Same events as a single create, each spanning the whole stage it shared with the rest of the batch
+                validated[index].commitFor(saved);
+                reserved[index].commitFor(saved);
+                persisted[index].commitFor(saved);
+                received[index].end();
+                received[index].commitFor(saved);
+            }
+            succeeded = true;
+            return Arrays.asList(results);
+        } finally {
+            tradingMetrics.recordOrderCommand("create_batch", null, null, succeeded, startNanos);
+        }
+    }
+    
+    private static void beginStage(OrderLifecycleEvent[] events, List<Integer> indexes, Supplier<OrderLifecycleEvent> factory) {
+        for (int index : indexes) {
+            events[index] = factory.get();
+            events[index].begin();
+        }
+    }
+    
+    private static void endStage(OrderLifecycleEvent[] events, List<Integer> indexes) {
+        for (int index : indexes) {
+            events[index].end();
+        }
     }
     
-    public List<Order> getCustomerOrders(String customerId, LocalDateTime startDate, LocalDateTime endDate) {
-        if (startDate != null && endDate != null) {
-            return orderRepository.findByCustomerIdAndCreateDateBetween(customerId, startDate, endDate);
-        } else if (startDate != null) {
-            return orderRepository.findByCustomerIdAndCreateDateBetween(customerId, startDate, LocalDateTime.now());
-        } else {
-            return orderRepository.findByCustomerId(customerId);
+    @Transactional(readOnly = true)
+    public List<OrderView> getCustomerOrders(String customerId, LocalDateTime startDate, LocalDateTime endDate) {
+        List<OrderView> orders = readYourWritesTracker.read(customerId, () -> {
+            if (startDate != null && endDate != null) {
+                return orderRepository.findViewsByCustomerIdAndCreateDateBetween(customerId, startDate, endDate);
+            } else if (startDate != null) {
+                return orderRepository.findViewsByCustomerIdAndCreateDateBetween(customerId, startDate, LocalDateTime.now());
+            } else {
+                return orderRepository.findViewsByCustomerId(customerId);
+            }
+        });
+        
+        // Terminal orders older than the archive horizon live in orders_history
+        List<OrderView> history = orderArchiveService.findCustomerHistory(customerId, startDate, endDate);
+        if (history.isEmpty()) {
+            return orders;
         }
+        List<OrderView> merged = new ArrayList<>(history.size() + orders.size());
+        merged.addAll(history);
+        merged.addAll(orders);
+        return merged;
     }
     
     @Transactional
     public void cancelOrder(Long orderId, String customerId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
+        applyCancelOrder(orderId, customerId, null);
+    }
+    
+    // Journal recovery: the cancel is already in the journal, so it is only resolved, never appended again
+    @Transactional
+    public void replayCancelOrder(Long orderId, String customerId, long journalSequence) {
+        applyCancelOrder(orderId, customerId, journalSequence);
+    }
+    
+    private void applyCancelOrder(Long orderId, String customerId, Long replayedSequence) {
+        long startNanos = System.nanoTime();
+        OrderCancelledEvent cancelled = new OrderCancelledEvent();
+        cancelled.begin();
+        Order order = null;
+        boolean succeeded = false;
+        try {
+            order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
         
-        // Check if order belongs to customer (unless admin)
-        if (!order.getCustomerId().equals(customerId)) {
-            throw new RuntimeException("Order does not belong to customer");
-        }
+            // Check if order belongs to customer (unless admin)
+            if (!order.getCustomerId().equals(customerId)) {
+                throw new RuntimeException("Order does not belong to customer");
+            }
         
-        // Check if order can be cancelled
-        if (order.getStatus() != OrderStatus.PENDING) {
-            throw new RuntimeException("Only pending orders can be cancelled");
-        }
+            // Check if order can be cancelled
+            if (order.getStatus() != OrderStatus.PENDING) {
+                throw new RuntimeException("Only pending orders can be cancelled");
+            }
         
-        // Update order status
-        order.setStatus(OrderStatus.CANCELED);
-        orderRepository.save(order);
+            readYourWritesTracker.recordWrite(order.getCustomerId());
+            journalOrResolve(OrderCommand.cancel(orderId, customerId), replayedSequence);
         
-        // Return assets to customer
-        assetService.updateAssetForOrderCancellation(
-            order.getCustomerId(),
-            order.getAssetName(),
-            order.getOrderSide(),
-            order.getSize()
-        );
+            // Update order status
+            order.setStatus(OrderStatus.CANCELED);
+            orderRepository.save(order);
+            eventPublisher.publishEvent(OrderStateChangedEvent.of(order, OrderStatus.PENDING));
+        
+            // Return assets to customer
+            assetService.updateAssetForOrderCancellation(
+                order.getCustomerId(),
+                order.getAssetName(),
+                order.getOrderSide(),
+                order.getSize()
+            );
+            cancelled.commitFor(order);
+            succeeded = true;
+        } finally {
+            // A missing order is an error outcome with no asset or side
+            tradingMetrics.recordOrderCommand("cancel", order != null ? order.getAssetName() : null,
+                    order != null ? order.getOrderSide() : null, succeeded, startNanos);
+        }
     }
     
-    public List<Order> getPendingOrders() {
-        return orderRepository.findByStatus(OrderStatus.PENDING);
+    @Transactional(readOnly = true)
+    public List<OrderView> getPendingOrders() {
+        return orderRepository.findViewsByStatus(OrderStatus.PENDING);
     }
     
     @Transactional
     public void matchOrder(Long orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
+        applyMatchOrder(orderId, null);
+    }
+    
+    // Journal recovery: the match is already in the journal, so it is only resolved, never appended again
+    @Transactional
+    public void replayMatchOrder(Long orderId, long journalSequence) {
+        applyMatchOrder(orderId, journalSequence);
+    }
+    
+    private void applyMatchOrder(Long orderId, Long replayedSequence) {
+        long startNanos = System.nanoTime();
+        OrderMatchedEvent matched = new OrderMatchedEvent();
+        matched.begin();
+        Order order = null;
+        boolean succeeded = false;
+        try {
+            order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
         
-        if (order.getStatus() != OrderStatus.PENDING) {
-            throw new RuntimeException("Only pending orders can be matched");
-        }
+            if (order.getStatus() != OrderStatus.PENDING) {
+                throw new RuntimeException("Only pending orders can be matched");
+            }
+        
+            readYourWritesTracker.recordWrite(order.getCustomerId());
+            journalOrResolve(OrderCommand.match(orderId), replayedSequence);
         
-        // Update order status
-        order.setStatus(OrderStatus.MATCHED);
-        orderRepository.save(order);
+            // Update order status
+            order.setStatus(OrderStatus.MATCHED);
+            orderRepository.save(order);
+            eventPublisher.publishEvent(OrderStateChangedEvent.of(order, OrderStatus.PENDING));
         
-        // Update assets based on order execution
-        assetService.updateAssetForOrderMatching(
-            order.getCustomerId(),
-            order.getAssetName(),
-            order.getOrderSide(),
-            order.getSize(),
-            order.getPrice()
-        );
+            // Update assets based on order execution
+            assetService.updateAssetForOrderMatching(
+                order.getCustomerId(),
+                order.getAssetName(),
+                order.getOrderSide(),
+                order.getSize(),
+                order.getPrice()
+            );
+            matched.commitFor(order);
+            succeeded = true;
+        } finally {
+            // A missing order is an error outcome with no asset or side
+            tradingMetrics.recordOrderCommand("match", order != null ? order.getAssetName() : null,
+                    order != null ? order.getOrderSide() : null, succeeded, startNanos);
+        }
     }
     
     public Order getOrderById(Long orderId) {
         return orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
     }
+    
+    // Written before the command is applied; the journal adds the COMMIT/ABORT marker when the transaction ends.
+    // Returns the journal sequence, or null when the journal is off.
+    private Long journal(OrderCommand command) {
+        if (commandJournal != null) {
+            return commandJournal.appendInTransaction(command);
+        }
+        return null;
+    }
+    
+    // New commands are appended; replayed ones already have an entry, which is resolved when this transaction commits
+    private void journalOrResolve(OrderCommand command, Long replayedSequence) {
+        if (replayedSequence == null) {
+            journal(command);
+        } else if (commandJournal != null) {
+            commandJournal.resolveOnCommit(replayedSequence);
+        }
+    }
 } 
\ No newline at end of file
@@ -1,13 +1,20 @@
 package com.brokerage.service;
 
+import com.brokerage.config.CacheConfig;
+import com.brokerage.config.ReadYourWritesTracker;
 import com.brokerage.model.User;
 import com.brokerage.repository.UserRepository;
+import com.brokerage.security.BrokerageUserPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -24,51 +31,55 @@ public class UserService implements UserDetailsService {
     @Autowired
     private AssetService assetService;
     
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+    
+    @Autowired
+    private CustomerIdAllocator customerIdAllocator;
+    
+    // sync = true: concurrent misses for the same user wait on a single load (and the load time is recorded)
     @Override
+    @Cacheable(cacheNames = CacheConfig.USER_PRINCIPALS, sync = true)
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        User user = readYourWritesTracker.read(writeKey(username), () -> userRepository.findByUsername(username))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
         
-        return org.springframework.security.core.userdetails.User
-                .withUsername(user.getUsername())
-                .password(user.getPassword())
-                .roles(user.getRole().name())
-                .build();
+        return new BrokerageUserPrincipal(user.getUsername(), user.getPassword(), user.getRole(), user.getCustomerId());
     }
     
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.USER_PRINCIPALS, key = "#username"),
+        @CacheEvict(cacheNames = CacheConfig.USERS_BY_CUSTOMER_ID, key = "#result.customerId", condition = "#result.customerId != null")
+    })
     public User createUser(String username, String password, User.UserRole role, String customerId) {
-        if (userRepository.existsByUsername(username)) {
-            throw new RuntimeException("Username already exists.");
-        }
-        
-        User user = new User(username, passwordEncoder.encode(password), role, customerId);
-        return userRepository.save(user);
+        return saveNewUser(username, passwordEncoder.encode(password), role, customerId);
     }
     
     // Overload for creating customer users with auto-generated customer ID
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.USER_PRINCIPALS, key = "#username"),
+        @CacheEvict(cacheNames = CacheConfig.USERS_BY_CUSTOMER_ID, key = "#result.customerId", condition = "#result.customerId != null")
+    })
     public User createUser(String username, String password) {
-        String customerId = generateCustomerId();
-        User user = createUser(username, password, User.UserRole.CUSTOMER, customerId);
-        
-        // Initialize customer assets (TRY balance)
-        assetService.initializeCustomerAssets(customerId);
-        
-        return user;
+        return saveNewCustomer(username, passwordEncoder.encode(password));
     }
     
-    private String generateCustomerId() {
-        String customerId;
-        do {
-            customerId = "CUST" + String.format("%03d", (int) (Math.random() * 1000));
-        } while (userRepository.findByCustomerId(customerId).isPresent());
-        return customerId;
+    // Registration: the password was already hashed on the BCrypt pool, only the database work happens here
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.USER_PRINCIPALS, key = "#username"),
+        @CacheEvict(cacheNames = CacheConfig.USERS_BY_CUSTOMER_ID, key = "#result.customerId", condition = "#result.customerId != null")
+    })
+    public User registerCustomer(String username, String encodedPassword) {
+        return saveNewCustomer(username, encodedPassword);
     }
     
     public User findByUsername(String username) {
-        return userRepository.findByUsername(username)
+        return readYourWritesTracker.read(writeKey(username), () -> userRepository.findByUsername(username))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
     
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_CUSTOMER_ID, sync = true)
     public User findByCustomerId(String customerId) {
         return userRepository.findByCustomerId(customerId)
                 .orElseThrow(() -> new RuntimeException("Customer not found: " + customerId));
@@ -77,4 +88,32 @@ public class UserService implements UserDetailsService {
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
+    
+    private User saveNewCustomer(String username, String encodedPassword) {
+        String customerId = customerIdAllocator.nextCustomerId();
+        User user = saveNewUser(username, encodedPassword, User.UserRole.CUSTOMER, customerId);
+        readYourWritesTracker.recordWrite(customerId);
+        
+        // Initialize customer assets (TRY balance)
+        assetService.initializeCustomerAssets(customerId);
+        
+        return user;
+    }
+    
+    private User saveNewUser(String username, String encodedPassword, User.UserRole role, String customerId) {
+        if (userRepository.existsByUsername(username)) {
+            throw new RuntimeException("Username already exists.");
+        }
+        
+        User user = new User(username, encodedPassword, role, customerId);
+        User saved = userRepository.save(user);
+        // A login right after registering must not miss the user on a lagging replica
+        readYourWritesTracker.recordWrite(writeKey(username));
+        return saved;
+    }
+    
+    // Users are tracked by username, in their own key space next to customer ids
+    private static String writeKey(String username) {
+        return "user:" + username;
+    }
 } 
\ No newline at end of file
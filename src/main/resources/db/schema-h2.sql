@@ -0,0 +1,59 @@
+-- Schema for the durable (prod) profile. Keep in sync with the JPA entities: Hibernate validates it on startup.
+
+CREATE TABLE IF NOT EXISTS users (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username    VARCHAR(255) NOT NULL UNIQUE,
+    password    VARCHAR(255) NOT NULL,
+    role        ENUM ('ADMIN','CUSTOMER') NOT NULL,
+    customer_id VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS assets (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    customer_id VARCHAR(255) NOT NULL,
+    asset_name  VARCHAR(255) NOT NULL,
+    size        NUMERIC(38,2) NOT NULL,
+    usable_size NUMERIC(38,2) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS orders (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    customer_id VARCHAR(255) NOT NULL,
+    asset_name  VARCHAR(255) NOT NULL,
+    order_side  ENUM ('BUY','SELL') NOT NULL,
+    size        NUMERIC(38,2) NOT NULL,
+    price       NUMERIC(38,2) NOT NULL,
+    status      ENUM ('PENDING','MATCHED','CANCELED') NOT NULL,
+    create_date TIMESTAMP(6) NOT NULL
+);
+
+-- Added after the first durable release, hence ALTER rather than a column in CREATE TABLE
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS journal_sequence BIGINT;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_orders_journal_sequence ON orders (journal_sequence);
+
+CREATE INDEX IF NOT EXISTS idx_orders_customer_date ON orders (customer_id, create_date);
+CREATE INDEX IF NOT EXISTS idx_orders_status_date ON orders (status, create_date);
+
+CREATE TABLE IF NOT EXISTS orders_history (
+    id            BIGINT NOT NULL PRIMARY KEY,
+    customer_id   VARCHAR(255) NOT NULL,
+    asset_name    VARCHAR(255) NOT NULL,
+    order_side    ENUM ('BUY','SELL') NOT NULL,
+    size          NUMERIC(38,2) NOT NULL,
+    price         NUMERIC(38,2) NOT NULL,
+    status        ENUM ('PENDING','MATCHED','CANCELED') NOT NULL,
+    create_date   TIMESTAMP(6) NOT NULL,
+    archived_date TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_orders_history_customer_date ON orders_history (customer_id, create_date);
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    token_id   VARCHAR(255) NOT NULL PRIMARY KEY,
+    expires_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+
+-- Customer ids are allocated in blocks of 50 (CustomerIdAllocator.BLOCK_SIZE)
+CREATE SEQUENCE IF NOT EXISTS customer_id_seq START WITH 1000 INCREMENT BY 50;
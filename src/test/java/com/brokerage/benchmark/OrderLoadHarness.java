@@ -0,0 +1,284 @@
+package com.brokerage.benchmark;
+
+import com.brokerage.BrokerageApplication;
+import com.brokerage.model.Asset;
+import com.brokerage.model.User;
+import com.brokerage.repository.AssetRepository;
+import com.brokerage.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load on the whole stack (JWT filter, controllers, services, H2). Not a unit test; run it by hand:
+ *
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.brokerage.benchmark.OrderLoadHarness \
+ *       -Dcustomers=200 -Drate=500 -Dseconds=60 -Dwarmup=10 -Dmix=create:40,cancel:15,match:15,query:30
+ *
+ * Starts the application on a random port, registers and logs in `customers` synthetic customers over HTTP,
+ * then sends `rate` requests per second on a fixed schedule regardless of how fast responses come back. Latency
+ * is measured from each request's scheduled send time, not from when it was actually sent, so a stall counts
+ * against every request queued behind it (coordinated-omission correction). Other -D properties reach the
+ * application, e.g. -Dbrokerage.rate-limit.entry.per-second=1000.
+ */
+public class OrderLoadHarness {
+
+    enum Operation { CREATE, CANCEL, MATCH, QUERY }
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final String baseUrl;
+    private final List<Customer> customers = new ArrayList<>();
+    private String adminToken;
+
+    // Orders created during the run and still pending, consumed by cancel and match
+    private final ConcurrentLinkedQueue<PendingOrder> pendingOrders = new ConcurrentLinkedQueue<>();
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> completed = new EnumMap<>(Operation.class);
+    private final Map<Integer, AtomicLong> failuresByStatus = new ConcurrentHashMap<>();
+
+    private record Customer(String customerId, String token) {}
+
+    private record PendingOrder(long orderId, Customer owner) {}
+
+    private OrderLoadHarness(int port) {
+        this.baseUrl = "http://localhost:" + port;
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3));
+            completed.put(operation, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int customerCount = Integer.getInteger("customers", 200);
+        int rate = Integer.getInteger("rate", 500);
+        int seconds = Integer.getInteger("seconds", 60);
+        int warmup = Integer.getInteger("warmup", 10);
+        Map<Operation, Integer> mix = parseMix(System.getProperty("mix", "create:40,cancel:15,match:15,query:30"));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BrokerageApplication.class)
+                .properties(
+                    "server.port=0",
+                    "spring.jpa.show-sql=false",
+                    "brokerage.archive.enabled=false",
+                    "logging.level.com.brokerage=WARN",
+                    "logging.level.org.springframework=WARN")
+                .run();
+        try {
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            OrderLoadHarness harness = new OrderLoadHarness(port);
+            harness.seed(context, customerCount);
+            harness.run(mix, rate, warmup, seconds);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private void seed(ConfigurableApplicationContext context, int customerCount) throws Exception {
+        UserService userService = context.getBean(UserService.class);
+        AssetRepository assetRepository = context.getBean(AssetRepository.class);
+        BigDecimal balance = new BigDecimal("1000000000");
+
+        // BCrypt dominates seeding; stay under the login hashing pool's queue so nothing is turned away with 503
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        List<Future<Customer>> logins = new ArrayList<>(customerCount);
+        try (ExecutorService seeders = Executors.newFixedThreadPool(parallelism)) {
+            for (int i = 0; i < customerCount; i++) {
+                String username = String.format("load%05d", i);
+                String customerId = String.format("LOAD%05d", i);
+                logins.add(seeders.submit(() -> {
+                    userService.createUser(username, "load-password", User.UserRole.CUSTOMER, customerId);
+                    assetRepository.save(new Asset(customerId, "TRY", balance, balance));
+                    assetRepository.save(new Asset(customerId, "AAPL", balance, balance));
+                    return new Customer(customerId, login(username, "load-password"));
+                }));
+            }
+            for (Future<Customer> login : logins) {
+                customers.add(login.get());
+            }
+        }
+        adminToken = login("admin", "admin123");
+        System.out.printf("seeded %d customers%n", customers.size());
+    }
+
+    private String login(String username, String password) throws Exception {
+        String body = JSON.writeValueAsString(Map.of("username", username, "password", password));
+        HttpResponse<String> response = httpClient.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + username + ": " + response.statusCode());
+        }
+        return JSON.readTree(response.body()).get("token").asText();
+    }
+
+    private void run(Map<Operation, Integer> mix, int rate, int warmupSeconds, int seconds) throws Exception {
+        Operation[] schedule = weightedSchedule(mix);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(seconds);
+
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intended = start + i * intervalNanos;
+                if (intended >= end) {
+                    break;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+                boolean measured = intended >= measureFrom;
+                requests.submit(() -> execute(operation, intended, measured));
+            }
+        }
+        report(rate, seconds);
+    }
+
+    private static Operation[] weightedSchedule(Map<Operation, Integer> mix) {
+        List<Operation> slots = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        return slots.toArray(new Operation[0]);
+    }
+
+    private void execute(Operation operation, long intendedStart, boolean measured) {
+        Operation executed = operation;
+        int status;
+        try {
+            PendingOrder pending = operation == Operation.CANCEL || operation == Operation.MATCH ? pendingOrders.poll() : null;
+            if (pending == null && (operation == Operation.CANCEL || operation == Operation.MATCH)) {
+                // Nothing to cancel or match yet; keep the offered rate by creating instead
+                executed = Operation.CREATE;
+            }
+            status = switch (executed) {
+                case CREATE -> create(randomCustomer());
+                case CANCEL -> send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders/" + pending.orderId()))
+                        .header("Authorization", "Bearer " + pending.owner().token())
+                        .DELETE(), null);
+                case MATCH -> send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders/" + pending.orderId() + "/match"))
+                        .header("Authorization", "Bearer " + adminToken)
+                        .POST(HttpRequest.BodyPublishers.noBody()), null);
+                case QUERY -> {
+                    Customer customer = randomCustomer();
+                    yield send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders?customerId=" + customer.customerId()))
+                            .header("Authorization", "Bearer " + customer.token())
+                            .GET(), null);
+                }
+            };
+        } catch (Exception e) {
+            status = -1;
+        }
+
+        if (!measured) {
+            return;
+        }
+        latencies.get(executed).recordValue(Math.min(System.nanoTime() - intendedStart, HIGHEST_TRACKABLE_NANOS));
+        if (status >= 200 && status < 300) {
+            completed.get(executed).incrementAndGet();
+        } else {
+            failuresByStatus.computeIfAbsent(status, s -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    private int create(Customer customer) throws Exception {
+        String body = JSON.writeValueAsString(Map.of(
+                "customerId", customer.customerId(),
+                "assetName", "AAPL",
+                "orderSide", ThreadLocalRandom.current().nextBoolean() ? "BUY" : "SELL",
+                "size", 1,
+                "price", 100));
+        JsonNode[] created = new JsonNode[1];
+        int status = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders"))
+                .header("Authorization", "Bearer " + customer.token())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)), created);
+        if (status == 200) {
+            pendingOrders.add(new PendingOrder(created[0].get("id").asLong(), customer));
+        }
+        return status;
+    }
+
+    private int send(HttpRequest.Builder request, JsonNode[] responseBody) throws Exception {
+        HttpResponse<String> response = httpClient.send(request.timeout(Duration.ofSeconds(30)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (responseBody != null && response.statusCode() == 200) {
+            responseBody[0] = JSON.readTree(response.body());
+        }
+        return response.statusCode();
+    }
+
+    private Customer randomCustomer() {
+        return customers.get(ThreadLocalRandom.current().nextInt(customers.size()));
+    }
+
+    private void report(int rate, int seconds) {
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+        long succeeded = 0;
+        System.out.printf("%-7s %10s %10s %10s %10s %10s%n", "op", "ok", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            total.add(histogram);
+            succeeded += completed.get(operation).get();
+            printRow(operation.name().toLowerCase(), completed.get(operation).get(), histogram);
+        }
+        printRow("all", succeeded, total);
+        System.out.printf("target %d req/s, achieved %.0f req/s (successful), failures by status %s%n",
+                rate, succeeded / (double) seconds, failuresByStatus);
+    }
+
+    private static void printRow(String name, long ok, Histogram histogram) {
+        System.out.printf("%-7s %10d %10.1f %10.1f %10.1f %10.1f%n", name, ok,
+                histogram.getValueAtPercentile(50) / 1e6,
+                histogram.getValueAtPercentile(99) / 1e6,
+                histogram.getValueAtPercentile(99.9) / 1e6,
+                histogram.getMaxValue() / 1e6);
+    }
+}
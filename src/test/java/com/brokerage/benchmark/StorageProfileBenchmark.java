@@ -0,0 +1,94 @@
+package com.brokerage.benchmark;
+
+import com.brokerage.BrokerageApplication;
+import com.brokerage.dto.CreateOrderRequest;
+import com.brokerage.model.Asset;
+import com.brokerage.model.OrderSide;
+import com.brokerage.repository.AssetRepository;
+import com.brokerage.service.OrderService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sizing benchmark for the durable "prod" profile. Not a unit test; run it by hand:
+ *
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.brokerage.benchmark.StorageProfileBenchmark \
+ *       -Dorders=50000 -Dexec.args=/path/to/data-dir
+ *
+ * Reports cold start on an empty data directory, sustained createOrder throughput,
+ * and cold start again once the data directory holds that many orders.
+ */
+public class StorageProfileBenchmark {
+
+    private static final String CUSTOMER_ID = "BENCH001";
+
+    public static void main(String[] args) throws Exception {
+        int orders = Integer.getInteger("orders", 50_000);
+        int warmup = Integer.getInteger("warmup", 5_000);
+        Path dataDir = args.length > 0 ? Path.of(args[0]) : Files.createTempDirectory("brokerage-storage-bench");
+
+        System.out.println("Data directory: " + dataDir.toAbsolutePath());
+
+        long start = System.nanoTime();
+        ConfigurableApplicationContext context = start(dataDir);
+        System.out.printf("Cold start (empty store):     %d ms%n", elapsedMillis(start));
+
+        try {
+            seedCustomer(context.getBean(AssetRepository.class), orders + warmup);
+            OrderService orderService = context.getBean(OrderService.class);
+
+            insertOrders(orderService, warmup);
+
+            start = System.nanoTime();
+            insertOrders(orderService, orders);
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("Sustained createOrder:        %d orders in %d ms = %.0f orders/s%n",
+                    orders, TimeUnit.NANOSECONDS.toMillis(elapsed), orders / (elapsed / 1e9));
+        } finally {
+            context.close();
+        }
+
+        start = System.nanoTime();
+        context = start(dataDir);
+        System.out.printf("Cold start (%d orders):   %d ms%n", orders + warmup, elapsedMillis(start));
+        context.close();
+    }
+
+    private static ConfigurableApplicationContext start(Path dataDir) {
+        return new SpringApplicationBuilder(BrokerageApplication.class)
+                .profiles("prod")
+                .properties(
+                    "server.port=0",
+                    "brokerage.storage.dir=" + dataDir.toAbsolutePath(),
+                    "brokerage.archive.enabled=false",
+                    "logging.level.com.brokerage=WARN",
+                    "logging.level.org.springframework=WARN")
+                .run();
+    }
+
+    private static void seedCustomer(AssetRepository assetRepository, int orderCount) {
+        BigDecimal balance = new BigDecimal(orderCount).multiply(new BigDecimal("10"));
+        if (assetRepository.findByCustomerIdAndAssetName(CUSTOMER_ID, "TRY").isEmpty()) {
+            assetRepository.save(new Asset(CUSTOMER_ID, "TRY", balance, balance));
+            assetRepository.save(new Asset(CUSTOMER_ID, "AAPL", BigDecimal.ZERO, BigDecimal.ZERO));
+        }
+    }
+
+    private static void insertOrders(OrderService orderService, int count) {
+        CreateOrderRequest request = new CreateOrderRequest(
+            CUSTOMER_ID, "AAPL", OrderSide.BUY, BigDecimal.ONE, new BigDecimal("150.00"));
+        for (int i = 0; i < count; i++) {
+            orderService.createOrder(request);
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,158 @@
+package com.brokerage.benchmark;
+
+import com.brokerage.BrokerageApplication;
+import com.brokerage.model.Asset;
+import com.brokerage.model.Order;
+import com.brokerage.model.OrderSide;
+import com.brokerage.model.User;
+import com.brokerage.repository.AssetRepository;
+import com.brokerage.repository.OrderRepository;
+import com.brokerage.security.BrokerageUserPrincipal;
+import com.brokerage.security.JwtTokenProvider;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Platform vs virtual request threads under many concurrent clients. Not a unit test; run it by hand:
+ *
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.brokerage.benchmark.VirtualThreadLoadBenchmark \
+ *       -Dclients=5000 -Dseconds=30 -Dorders=100
+ *
+ * Starts the application once per mode, seeds `orders` pending orders for the benchmark customer, and drives
+ * GET /api/orders (a JDBC read returning those orders per request) from `clients` concurrent clients for
+ * `seconds`, then reports throughput and p50/p99 latency. Raise the
+ * OS open-file limit first: each client holds its own connection.
+ */
+public class VirtualThreadLoadBenchmark {
+
+    private static final String CUSTOMER_ID = "BENCH001";
+
+    private static final String[] ASSETS = {"AAPL", "MSFT", "GOOGL", "AMZN", "TSLA"};
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("clients", 5_000);
+        int seconds = Integer.getInteger("seconds", 30);
+        int orders = Integer.getInteger("orders", 100);
+
+        for (boolean virtual : new boolean[] {false, true}) {
+            ConfigurableApplicationContext context = start(virtual);
+            try {
+                int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+                String token = seedCustomer(context, orders);
+                run(virtual ? "virtual " : "platform", port, token, clients, seconds);
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BrokerageApplication.class)
+                .properties(
+                    "server.port=0",
+                    "spring.jpa.show-sql=false",
+                    "brokerage.archive.enabled=false",
+                    "brokerage.rate-limit.query.per-second=1000000000",
+                    "brokerage.rate-limit.query.burst=1000000000",
+                    "logging.level.com.brokerage=WARN",
+                    "logging.level.org.springframework=WARN");
+        if (virtual) {
+            builder.profiles("virtual");
+        }
+        return builder.run();
+    }
+
+    // Orders go straight into the table, like BenchmarkFixtures.loadAccounts; balances are not reserved for them
+    private static String seedCustomer(ConfigurableApplicationContext context, int orders) {
+        AssetRepository assetRepository = context.getBean(AssetRepository.class);
+        OrderRepository orderRepository = context.getBean(OrderRepository.class);
+        BigDecimal balance = new BigDecimal("1000000");
+        assetRepository.save(new Asset(CUSTOMER_ID, "TRY", balance, balance));
+        List<Order> seeded = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            seeded.add(new Order(CUSTOMER_ID, ASSETS[i % ASSETS.length], i % 2 == 0 ? OrderSide.BUY : OrderSide.SELL,
+                    BigDecimal.ONE, new BigDecimal("100.00")));
+        }
+        orderRepository.saveAll(seeded);
+        // Sign a token directly: the benchmark measures request threads, not BCrypt
+        return context.getBean(JwtTokenProvider.class).generateAccessToken(
+                new BrokerageUserPrincipal("bench", null, User.UserRole.CUSTOMER, CUSTOMER_ID));
+    }
+
+    private static void run(String mode, int port, String token, int clients, int seconds) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/orders?customerId=" + CUSTOMER_ID))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        long[][] latencies = new long[clients][];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(clients);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                clientThreads.submit(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = System.nanoTime() - start;
+                    }
+                    latencies[client] = Arrays.copyOf(samples, count);
+                    done.countDown();
+                });
+            }
+            done.await();
+        }
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("%s: %d clients, %.0f req/s, p50 %.1f ms, p99 %.1f ms, %d errors%n",
+                mode, clients, all.length / (double) seconds,
+                percentileMillis(all, 0.50), percentileMillis(all, 0.99), errors.get());
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,60 @@
+package com.brokerage.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyRecorderTest {
+
+    private LatencyRecorder latencyRecorder;
+
+    @BeforeEach
+    void setUp() {
+        latencyRecorder = new LatencyRecorder();
+        ReflectionTestUtils.setField(latencyRecorder, "maxSeries", 2);
+        ReflectionTestUtils.setField(latencyRecorder, "highestTrackableMs", 1000L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRotate_ReportsLastIntervalAndTotal() {
+        // Given
+        latencyRecorder.record("GET", "/api/orders", TimeUnit.MILLISECONDS.toNanos(2));
+        latencyRecorder.record("GET", "/api/orders", TimeUnit.MILLISECONDS.toNanos(40));
+        latencyRecorder.rotate();
+        latencyRecorder.record("GET", "/api/orders", TimeUnit.MILLISECONDS.toNanos(5));
+
+        // When
+        latencyRecorder.rotate();
+        Map<String, Object> report = latencyRecorder.report();
+
+        // Then
+        Map<String, Object> series = (Map<String, Object>) report.get("GET /api/orders");
+        Map<String, Object> interval = (Map<String, Object>) series.get("interval");
+        Map<String, Object> total = (Map<String, Object>) series.get("total");
+        assertEquals(1L, interval.get("count"));
+        assertEquals(3L, total.get("count"));
+        // two significant digits: within 1%
+        assertEquals(40.0, (Double) total.get("max"), 0.4);
+        assertEquals(5.0, (Double) interval.get("max"), 0.05);
+    }
+
+    @Test
+    void testRecord_ClampsToHighestTrackableAndCapsSeries() {
+        // When
+        latencyRecorder.record("OrderService", "create", TimeUnit.SECONDS.toNanos(5));
+        latencyRecorder.record("OrderService", "cancel", 1000);
+        latencyRecorder.record("OrderService", "match", 1000);
+        latencyRecorder.rotate();
+
+        // Then
+        Map<String, Object> report = latencyRecorder.report();
+        assertEquals(2, report.size());
+        assertFalse(report.containsKey("OrderService match"));
+    }
+}
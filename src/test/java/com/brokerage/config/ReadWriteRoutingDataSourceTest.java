@@ -0,0 +1,55 @@
+package com.brokerage.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private ReadWriteRoutingDataSource routingDataSource;
+    private ReadYourWritesTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        routingDataSource = new ReadWriteRoutingDataSource();
+        tracker = new ReadYourWritesTracker();
+        ReflectionTestUtils.setField(tracker, "windowMillis", 60000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void testWriteTransaction_RoutesToPrimary() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+
+        assertEquals(ReadWriteRoutingDataSource.Route.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testReadOnlyTransaction_RoutesToReplica() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(ReadWriteRoutingDataSource.Route.REPLICA, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testReadOnlyTransaction_AfterOwnWrite_RoutesToPrimary() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        tracker.recordWrite("CUST001");
+
+        Object ownRoute = tracker.read("CUST001", routingDataSource::determineCurrentLookupKey);
+        Object otherRoute = tracker.read("CUST002", routingDataSource::determineCurrentLookupKey);
+
+        assertEquals(ReadWriteRoutingDataSource.Route.PRIMARY, ownRoute);
+        assertEquals(ReadWriteRoutingDataSource.Route.REPLICA, otherRoute);
+        // Pin is released once the read returns
+        assertEquals(ReadWriteRoutingDataSource.Route.REPLICA, routingDataSource.determineCurrentLookupKey());
+    }
+}
@@ -0,0 +1,63 @@
+package com.brokerage.config;
+
+import com.brokerage.model.OrderSide;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TradingMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TradingMetrics tradingMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tradingMetrics = new TradingMetrics();
+        ReflectionTestUtils.setField(tradingMetrics, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(tradingMetrics, "maxAssetTags", 2);
+        ReflectionTestUtils.setField(tradingMetrics, "latencyRecorder", new LatencyRecorder());
+    }
+
+    @Test
+    void testAssetTag_CapsDistinctAssets() {
+        // When
+        tradingMetrics.recordReservation("AAPL", OrderSide.BUY, true);
+        tradingMetrics.recordReservation("MSFT", OrderSide.BUY, true);
+        tradingMetrics.recordReservation("TSLA", OrderSide.BUY, false);
+        tradingMetrics.recordReservation("AAPL", OrderSide.BUY, true);
+
+        // Then
+        assertEquals(2.0, meterRegistry.get("brokerage.assets.reservations")
+            .tag("asset", "AAPL").tag("outcome", "reserved").counter().count());
+        assertEquals(1.0, meterRegistry.get("brokerage.assets.reservations")
+            .tag("asset", TradingMetrics.OTHER_ASSET).tag("outcome", "insufficient_balance").counter().count());
+        assertEquals(3, meterRegistry.get("brokerage.assets.reservations").counters().size());
+    }
+
+    @Test
+    void testRecordOrderCommand_TagsUnloadedOrderAsNone() {
+        // When
+        tradingMetrics.recordOrderCommand("cancel", null, null, false, System.nanoTime());
+
+        // Then
+        assertEquals(1, meterRegistry.get("brokerage.orders.commands")
+            .tag("asset", TradingMetrics.NO_ASSET).tag("side", TradingMetrics.NO_ASSET).tag("outcome", "error")
+            .timer().count());
+    }
+
+    @Test
+    void testRecordOrderCommand_ReusesMeterPerTagCombination() {
+        // When
+        tradingMetrics.recordOrderCommand("create", "AAPL", OrderSide.BUY, true, System.nanoTime());
+        tradingMetrics.recordOrderCommand("create", "AAPL", OrderSide.BUY, true, System.nanoTime());
+        tradingMetrics.recordOrderCommand("create", "AAPL", OrderSide.BUY, false, System.nanoTime());
+
+        // Then
+        assertEquals(2, meterRegistry.get("brokerage.orders.commands").timers().size());
+        assertEquals(2, meterRegistry.get("brokerage.orders.commands").tag("outcome", "success").timer().count());
+    }
+}
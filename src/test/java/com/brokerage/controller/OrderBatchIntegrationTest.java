@@ -0,0 +1,198 @@
+package com.brokerage.controller;
+
+import com.brokerage.dto.BatchOrderRequest;
+import com.brokerage.dto.CreateOrderRequest;
+import com.brokerage.model.Asset;
+import com.brokerage.model.Order;
+import com.brokerage.model.OrderSide;
+import com.brokerage.model.User;
+import com.brokerage.repository.AssetRepository;
+import com.brokerage.repository.OrderRepository;
+import com.brokerage.security.BrokerageUserPrincipal;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * POST /api/orders/batch end to end against H2. Not @Transactional, so balances and ids are read back after the
+ * batch transaction committed. Each test gets its own customer, and with it its own rate limit bucket.
+ */
+@SpringBootTest(properties = {
+    "brokerage.orders.batch.max-size=3",
+    "brokerage.rate-limit.batch.per-second=0.01",
+    "brokerage.rate-limit.batch.burst=5"
+})
+@ActiveProfiles("test")
+class OrderBatchIntegrationTest {
+
+    private static final AtomicInteger CUSTOMER_SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MockMvc mockMvc;
+    private String customerId;
+    private BrokerageUserPrincipal customer;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        customerId = "BT" + CUSTOMER_SEQUENCE.incrementAndGet();
+        customer = new BrokerageUserPrincipal("batch-" + customerId, "unused", User.UserRole.CUSTOMER, customerId);
+        assetRepository.save(new Asset(customerId, "TRY", new BigDecimal("1000"), new BigDecimal("1000")));
+        assetRepository.save(new Asset(customerId, "AAPL", new BigDecimal("100"), new BigDecimal("100")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll(orderRepository.findByCustomerId(customerId));
+        assetRepository.deleteAll(assetRepository.findByCustomerId(customerId));
+    }
+
+    @Test
+    void testCreateOrders_AllOrNothingPlacesEveryOrder() throws Exception {
+        // When
+        JsonNode response = readBody(postBatch(true,
+                order(OrderSide.BUY, "600"),
+                order(OrderSide.SELL, "30"),
+                order(OrderSide.BUY, "400"))
+            .andExpect(status().isOk()));
+
+        // Then
+        assertEquals(3, response.get("created").asInt());
+        JsonNode results = response.get("results");
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i, results.get(i).get("index").asInt());
+            assertEquals("CREATED", results.get(i).get("status").asText());
+        }
+        assertPlaced(results.get(0), OrderSide.BUY, "600");
+        assertPlaced(results.get(1), OrderSide.SELL, "30");
+        assertPlaced(results.get(2), OrderSide.BUY, "400");
+        assertUsable("TRY", "0");
+        assertUsable("AAPL", "70");
+    }
+
+    @Test
+    void testCreateOrders_AllOrNothingRejectionPlacesNothing() throws Exception {
+        // When
+        JsonNode response = readBody(postBatch(true,
+                order(OrderSide.SELL, "80"),
+                order(OrderSide.SELL, "30"))
+            .andExpect(status().isUnprocessableEntity()));
+
+        // Then
+        assertEquals(0, response.get("created").asInt());
+        JsonNode results = response.get("results");
+        assertEquals("Not placed: another order in the batch was rejected", results.get(0).get("error").asText());
+        assertEquals("Insufficient asset balance for order", results.get(1).get("error").asText());
+        assertTrue(orderRepository.findByCustomerId(customerId).isEmpty());
+        assertUsable("AAPL", "100");
+    }
+
+    @Test
+    void testCreateOrders_BestEffortPlacesOrdersThatPass() throws Exception {
+        // When
+        JsonNode response = readBody(postBatch(false,
+                order(OrderSide.SELL, "80"),
+                order(OrderSide.SELL, "30"),
+                order(OrderSide.BUY, "250"))
+            .andExpect(status().isOk()));
+
+        // Then
+        JsonNode results = response.get("results");
+        assertEquals(2, response.get("created").asInt());
+        assertPlaced(results.get(0), OrderSide.SELL, "80");
+        assertEquals("REJECTED", results.get(1).get("status").asText());
+        assertEquals("Insufficient asset balance for order", results.get(1).get("error").asText());
+        assertPlaced(results.get(2), OrderSide.BUY, "250");
+        assertTrue(results.get(0).get("order").get("id").asLong() < results.get(2).get("order").get("id").asLong());
+        assertEquals(2, orderRepository.findByCustomerId(customerId).size());
+        assertUsable("AAPL", "20");
+        assertUsable("TRY", "750");
+    }
+
+    @Test
+    void testCreateOrders_RejectsBatchOverMaxSize() {
+        // When
+        Exception ex = assertThrows(Exception.class, () -> postBatch(true,
+                order(OrderSide.BUY, "1"), order(OrderSide.BUY, "1"), order(OrderSide.BUY, "1"), order(OrderSide.BUY, "1")));
+
+        // Then
+        assertEquals("Batch too large: at most 3 orders per request", NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+        assertTrue(orderRepository.findByCustomerId(customerId).isEmpty());
+    }
+
+    @Test
+    void testCreateOrders_ChargesRateLimitPerOrder() throws Exception {
+        // Given: three of the five tokens
+        postBatch(true, order(OrderSide.BUY, "1"), order(OrderSide.BUY, "1"), order(OrderSide.BUY, "1"))
+            .andExpect(status().isOk());
+
+        // When & Then
+        postBatch(true, order(OrderSide.BUY, "1"), order(OrderSide.BUY, "1"), order(OrderSide.BUY, "1"))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        postBatch(true, order(OrderSide.BUY, "1"), order(OrderSide.BUY, "1"))
+            .andExpect(status().isOk());
+        assertEquals(5, orderRepository.findByCustomerId(customerId).size());
+    }
+
+    private CreateOrderRequest order(OrderSide side, String size) {
+        return new CreateOrderRequest(customerId, "AAPL", side, new BigDecimal(size), new BigDecimal("1.00"));
+    }
+
+    private ResultActions postBatch(boolean allOrNothing, CreateOrderRequest... orders) throws Exception {
+        return mockMvc.perform(post("/api/orders/batch")
+                .with(user(customer))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchOrderRequest(List.of(orders), allOrNothing))));
+    }
+
+    private JsonNode readBody(ResultActions result) throws Exception {
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsString());
+    }
+
+    // The generated id in the response is the row that was written
+    private void assertPlaced(JsonNode result, OrderSide side, String size) {
+        assertEquals("CREATED", result.get("status").asText());
+        Order order = orderRepository.findById(result.get("order").get("id").asLong()).orElseThrow();
+        assertEquals(customerId, order.getCustomerId());
+        assertEquals(side, order.getOrderSide());
+        assertEquals(0, order.getSize().compareTo(new BigDecimal(size)));
+    }
+
+    private void assertUsable(String assetName, String expected) {
+        Asset asset = assetRepository.findByCustomerIdAndAssetName(customerId, assetName).orElseThrow();
+        assertEquals(0, asset.getUsableSize().compareTo(new BigDecimal(expected)), assetName + " usable size");
+    }
+}
@@ -0,0 +1,148 @@
+package com.brokerage.controller;
+
+import com.brokerage.dto.CreateOrderRequest;
+import com.brokerage.dto.LoginRequest;
+import com.brokerage.model.Asset;
+import com.brokerage.model.OrderSide;
+import com.brokerage.repository.AssetRepository;
+import com.brokerage.repository.OrderRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * POST /api/orders/async and the submission status endpoint over HTTP with a JWT, through the full security chain.
+ * Async handlers finish in a second, ASYNC dispatch, which these tests perform explicitly with asyncDispatch.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderSubmissionIntegrationTest {
+
+    private static final String CUSTOMER_ID = "ASYNC001";
+
+    @DynamicPropertySource
+    static void journal(DynamicPropertyRegistry registry) throws IOException {
+        String dir = Files.createTempDirectory("order-journal").toString();
+        registry.add("brokerage.journal.enabled", () -> "true");
+        registry.add("brokerage.journal.dir", () -> dir);
+    }
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MockMvc mockMvc;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        assetRepository.save(new Asset(CUSTOMER_ID, "TRY", new BigDecimal("1000"), new BigDecimal("1000")));
+        assetRepository.save(new Asset(CUSTOMER_ID, "AAPL", new BigDecimal("10"), new BigDecimal("10")));
+
+        // login also answers asynchronously, on the password hashing pool
+        MvcResult login = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("admin", "admin123"))))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        MvcResult loggedIn = mockMvc.perform(asyncDispatch(login)).andExpect(status().isOk()).andReturn();
+        adminToken = objectMapper.readTree(loggedIn.getResponse().getContentAsString()).get("token").asText();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll(orderRepository.findByCustomerId(CUSTOMER_ID));
+        assetRepository.deleteAll(assetRepository.findByCustomerId(CUSTOMER_ID));
+    }
+
+    @Test
+    void testCreateOrderAsync_AcceptedThenVisibleThroughSubmission() throws Exception {
+        // Given
+        CreateOrderRequest request = new CreateOrderRequest(CUSTOMER_ID, "AAPL", OrderSide.BUY,
+            new BigDecimal("100"), new BigDecimal("150.00"));
+
+        // When
+        MvcResult submitted = mockMvc.perform(post("/api/orders/async")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        MvcResult accepted = mockMvc.perform(asyncDispatch(submitted))
+            .andExpect(status().isAccepted())
+            .andExpect(header().exists(HttpHeaders.LOCATION))
+            .andReturn();
+
+        // Then
+        JsonNode submission = objectMapper.readTree(accepted.getResponse().getContentAsString());
+        long handle = submission.get("handle").asLong();
+        assertEquals("/api/orders/submissions/" + handle, accepted.getResponse().getHeader(HttpHeaders.LOCATION));
+        assertEquals(CUSTOMER_ID, submission.get("customerId").asText());
+
+        JsonNode status = awaitApplied(handle);
+        assertEquals("CREATED", status.get("status").asText());
+        assertTrue(orderRepository.findById(status.get("orderId").asLong()).isPresent());
+    }
+
+    @Test
+    void testCreateOrderAsync_RequiresToken() throws Exception {
+        // Given
+        CreateOrderRequest request = new CreateOrderRequest(CUSTOMER_ID, "AAPL", OrderSide.BUY,
+            new BigDecimal("100"), new BigDecimal("150.00"));
+
+        // When & Then
+        MvcResult result = mockMvc.perform(post("/api/orders/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andReturn();
+        assertFalse(result.getRequest().isAsyncStarted());
+        assertTrue(result.getResponse().getStatus() == 401 || result.getResponse().getStatus() == 403);
+        assertTrue(orderRepository.findByCustomerId(CUSTOMER_ID).isEmpty());
+    }
+
+    // The pipeline applies accepted orders in the background
+    private JsonNode awaitApplied(long handle) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (true) {
+            MvcResult result = mockMvc.perform(get("/api/orders/submissions/" + handle)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn();
+            JsonNode submission = objectMapper.readTree(result.getResponse().getContentAsString());
+            if (!"ACCEPTED".equals(submission.get("status").asText()) || System.nanoTime() > deadline) {
+                return submission;
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.brokerage.jfr;
+
+import com.brokerage.model.Order;
+import com.brokerage.model.OrderSide;
+import jdk.jfr.Recording;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderRecordingAnalyzerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testAnalyze_GroupsLifecycleEventsByStage() throws Exception {
+        // Given
+        Order aapl = order(1L, "AAPL");
+        Order msft = order(2L, "MSFT");
+        Path file = tempDir.resolve("orders.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(OrderReservedEvent.class);
+            recording.enable(OrderPersistedEvent.class);
+            recording.start();
+
+            for (Order order : List.of(aapl, msft, aapl)) {
+                OrderReservedEvent reserved = new OrderReservedEvent();
+                reserved.begin();
+                reserved.end();
+                reserved.commitFor(order);
+            }
+            OrderPersistedEvent persisted = new OrderPersistedEvent();
+            persisted.begin();
+            persisted.end();
+            persisted.commitFor(msft);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // When
+        Map<String, Histogram> stages = OrderRecordingAnalyzer.analyze(file, false);
+        Map<String, Histogram> byAsset = OrderRecordingAnalyzer.analyze(file, true);
+
+        // Then
+        assertEquals(List.of("Reserved", "Persisted"), List.copyOf(stages.keySet()));
+        assertEquals(3, stages.get("Reserved").getTotalCount());
+        assertEquals(1, stages.get("Persisted").getTotalCount());
+        assertEquals(2, byAsset.get("Reserved AAPL").getTotalCount());
+        assertEquals(1, byAsset.get("Reserved MSFT").getTotalCount());
+    }
+
+    private static Order order(Long id, String assetName) {
+        Order order = new Order("CUST001", assetName, OrderSide.BUY, BigDecimal.ONE, new BigDecimal("100"));
+        order.setId(id);
+        return order;
+    }
+}
@@ -0,0 +1,144 @@
+package com.brokerage.journal;
+
+import com.brokerage.dto.CreateOrderRequest;
+import com.brokerage.model.OrderSide;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderCommandJournalTest {
+
+    @TempDir
+    Path journalDir;
+
+    private OrderCommandJournal journal;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        journal = openJournal();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        journal.close();
+    }
+
+    @Test
+    void testCommandsNotAbortedAreRecoveredAfterRestart() throws Exception {
+        // Given
+        CreateOrderRequest request = new CreateOrderRequest(
+            "CUST001", "AAPL", OrderSide.BUY, new BigDecimal("10"), new BigDecimal("150.25"));
+        long committed = journal.append(OrderCommand.create(request));
+        journal.resolve(committed, true);
+        long aborted = journal.append(OrderCommand.match(3L));
+        journal.resolve(aborted, false);
+        journal.append(OrderCommand.cancel(7L, "CUST002"));
+        journal.append(OrderCommand.create(request));
+
+        // When: crash without a checkpoint
+        journal.flush();
+        journal = openJournal();
+
+        // Then: committed commands are recovered too, recovery checks them against the database
+        List<OrderCommand> recovered = journal.getRecoveredCommands();
+        assertEquals(3, recovered.size());
+        assertEquals(committed, recovered.get(0).sequence());
+
+        OrderCommand cancel = recovered.get(1);
+        assertEquals(OrderCommandType.CANCEL, cancel.type());
+        assertEquals(7L, cancel.orderId());
+        assertEquals("CUST002", cancel.customerId());
+
+        CreateOrderRequest replayed = recovered.get(2).toCreateOrderRequest();
+        assertEquals("CUST001", replayed.getCustomerId());
+        assertEquals("AAPL", replayed.getAssetName());
+        assertEquals(OrderSide.BUY, replayed.getOrderSide());
+        assertEquals(new BigDecimal("10"), replayed.getSize());
+        assertEquals(new BigDecimal("150.25"), replayed.getPrice());
+    }
+
+    @Test
+    void testCompletedRecoveryIsNotReplayedAgain() throws Exception {
+        // Given
+        journal.append(OrderCommand.match(1L));
+        journal.flush();
+        journal = openJournal();
+        assertEquals(1, journal.getRecoveredCommands().size());
+
+        // When
+        journal.completeRecovery();
+        long next = journal.append(OrderCommand.match(2L));
+        journal.resolve(next, true);
+        journal.close();
+        journal = openJournal();
+
+        // Then
+        assertTrue(journal.getRecoveredCommands().isEmpty());
+        assertTrue(journal.append(OrderCommand.match(3L)) > next);
+    }
+
+    @Test
+    void testOversizedValuesAreRejectedBeforeAppending() throws Exception {
+        // Given: unscaled bytes beyond a one-byte length prefix
+        long valid = journal.append(OrderCommand.match(1L));
+        CreateOrderRequest oversized = new CreateOrderRequest(
+            "CUST001", "AAPL", OrderSide.BUY, new BigDecimal("10"), new BigDecimal("9".repeat(400)));
+
+        // When
+        assertThrows(IllegalArgumentException.class, () -> journal.append(OrderCommand.create(oversized)));
+        long next = journal.append(OrderCommand.match(2L));
+        journal.flush();
+        journal = openJournal();
+
+        // Then: the log around the rejected value is intact
+        List<OrderCommand> recovered = journal.getRecoveredCommands();
+        assertEquals(2, recovered.size());
+        assertEquals(valid, recovered.get(0).sequence());
+        assertEquals(next, recovered.get(1).sequence());
+    }
+
+    @Test
+    void testWhenDurableCompletesAfterGroupFsync() {
+        // Given: fsync-every is 1000, so a single record waits for flush
+        long sequence = journal.append(OrderCommand.match(1L));
+
+        // When
+        CompletableFuture<Void> durable = journal.whenDurable(sequence);
+
+        // Then
+        assertFalse(durable.isDone());
+        journal.flush();
+        assertTrue(durable.isDone());
+        assertTrue(journal.whenDurable(sequence).isDone());
+    }
+
+    @Test
+    void testRollsOverToNewSegment() throws Exception {
+        // Given: 1 MB segments hold a few thousand match records
+        for (int i = 0; i < 100_000; i++) {
+            journal.append(OrderCommand.match(i));
+        }
+        journal.flush();
+
+        // When
+        journal = openJournal();
+
+        // Then
+        assertEquals(100_000, journal.getRecoveredCommands().size());
+        assertEquals(99_999L, journal.getRecoveredCommands().get(99_999).orderId());
+    }
+
+    private OrderCommandJournal openJournal() throws Exception {
+        OrderCommandJournal opened = new OrderCommandJournal(journalDir.toString(), 1, 1000);
+        opened.open();
+        return opened;
+    }
+}
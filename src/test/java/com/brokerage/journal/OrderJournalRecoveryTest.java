@@ -0,0 +1,126 @@
+package com.brokerage.journal;
+
+import com.brokerage.dto.CreateOrderRequest;
+import com.brokerage.model.OrderSide;
+import com.brokerage.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderJournalRecoveryTest {
+
+    @TempDir
+    Path journalDir;
+
+    @Mock
+    private OrderService orderService;
+
+    @InjectMocks
+    private OrderJournalRecovery recovery;
+
+    private OrderCommandJournal journal;
+
+    private final CreateOrderRequest request = new CreateOrderRequest(
+        "CUST001", "AAPL", OrderSide.BUY, new BigDecimal("10"), new BigDecimal("150.00"));
+
+    @BeforeEach
+    void setUp() throws Exception {
+        journal = openJournal();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        journal.close();
+    }
+
+    @Test
+    void testCreateCommittedBeforeItsMarkerIsNotReplayed() throws Exception {
+        // Given: the order was committed, then the process died before the COMMIT marker was written
+        long sequence = journal.append(OrderCommand.create(request));
+        journal.flush();
+        restart();
+        when(orderService.replayCreateOrder(any(CreateOrderRequest.class), eq(sequence))).thenReturn(false);
+
+        // When
+        recovery.run(null);
+
+        // Then
+        verify(orderService, never()).createJournaledOrder(any(), anyLong());
+        verify(orderService, never()).createOrder(any());
+    }
+
+    @Test
+    void testCreateWhoseCommitWasLostIsReplayedUnderItsSequence() throws Exception {
+        // Given: the COMMIT marker reached disk but the database commit did not
+        long sequence = journal.append(OrderCommand.create(request));
+        journal.resolve(sequence, true);
+        journal.flush();
+        restart();
+        when(orderService.replayCreateOrder(any(CreateOrderRequest.class), eq(sequence))).thenReturn(true);
+
+        // When
+        recovery.run(null);
+
+        // Then
+        verify(orderService).replayCreateOrder(any(CreateOrderRequest.class), eq(sequence));
+    }
+
+    @Test
+    void testAbortedCreateIsNotReplayed() throws Exception {
+        // Given
+        long sequence = journal.append(OrderCommand.create(request));
+        journal.resolve(sequence, false);
+        journal.flush();
+
+        // When
+        restart();
+        recovery.run(null);
+
+        // Then
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void testCancelAndMatchAreReplayedWithoutJournalingAgain() throws Exception {
+        // Given
+        long cancel = journal.append(OrderCommand.cancel(7L, "CUST001"));
+        long match = journal.append(OrderCommand.match(8L));
+        journal.flush();
+        restart();
+
+        // When
+        recovery.run(null);
+
+        // Then
+        verify(orderService).replayCancelOrder(7L, "CUST001", cancel);
+        verify(orderService).replayMatchOrder(8L, match);
+        verify(orderService, never()).cancelOrder(any(), any());
+        verify(orderService, never()).matchOrder(any());
+    }
+
+    private void restart() throws Exception {
+        journal = openJournal();
+        ReflectionTestUtils.setField(recovery, "commandJournal", journal);
+    }
+
+    private OrderCommandJournal openJournal() throws Exception {
+        OrderCommandJournal opened = new OrderCommandJournal(journalDir.toString(), 1, 1000);
+        opened.open();
+        return opened;
+    }
+}
@@ -0,0 +1,80 @@
+package com.brokerage.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Logs through a context with the filter registered, as logback-spring.xml does, so the filter runs on every
+ * level check and logging call exactly as in production.
+ */
+class DebugSamplingFilterTest {
+
+    private LoggerContext context;
+    private Logger logger;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        DebugSamplingFilter filter = new DebugSamplingFilter();
+        filter.setRate(10);
+        filter.setContext(context);
+        filter.start();
+        context.addTurboFilter(filter);
+
+        appender = new ListAppender<>();
+        appender.setContext(context);
+        appender.start();
+        logger = context.getLogger("com.brokerage.test");
+        logger.setLevel(Level.DEBUG);
+        logger.addAppender(appender);
+    }
+
+    @Test
+    void testDebug_IsSampled() {
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            logger.debug("debug {}", i);
+        }
+
+        // Then: about 1 in 10
+        int kept = appender.list.size();
+        assertTrue(kept > 700 && kept < 1300, "kept " + kept);
+    }
+
+    @Test
+    void testInfo_IsNeverSampled() {
+        // When
+        for (int i = 0; i < 100; i++) {
+            logger.info("info {}", i);
+        }
+
+        // Then
+        assertEquals(100, appender.list.size());
+    }
+
+    @Test
+    void testDisabledLogger_StaysDisabled() {
+        // Given
+        Logger quiet = context.getLogger("com.brokerage.quiet");
+        quiet.setLevel(Level.INFO);
+        quiet.addAppender(appender);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            quiet.debug("debug {}", i);
+            quiet.trace("trace {}", i);
+        }
+
+        // Then
+        assertFalse(quiet.isDebugEnabled());
+        assertTrue(appender.list.isEmpty());
+    }
+}
@@ -0,0 +1,145 @@
+package com.brokerage.pipeline;
+
+import com.brokerage.dto.CreateOrderRequest;
+import com.brokerage.journal.OrderCommandJournal;
+import com.brokerage.model.Order;
+import com.brokerage.model.OrderSide;
+import com.brokerage.repository.OrderRepository;
+import com.brokerage.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderSubmissionPipelineTest {
+
+    @Mock
+    private OrderCommandJournal commandJournal;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @InjectMocks
+    private OrderSubmissionPipeline pipeline;
+
+    private CreateOrderRequest buyRequest;
+    private CreateOrderRequest sellRequest;
+
+    @BeforeEach
+    void setUp() {
+        // No worker thread: batches are applied directly
+        ReflectionTestUtils.setField(pipeline, "capacity", new Semaphore(1));
+        ReflectionTestUtils.setField(pipeline, "transactionTemplate", new TransactionTemplate(transactionManager));
+
+        buyRequest = new CreateOrderRequest("CUST001", "AAPL", OrderSide.BUY, new BigDecimal("10"), new BigDecimal("150.00"));
+        sellRequest = new CreateOrderRequest("CUST001", "AAPL", OrderSide.SELL, new BigDecimal("5"), new BigDecimal("155.00"));
+    }
+
+    @Test
+    void testSubmit_RejectsWhenIntakeIsFull() {
+        // Given
+        when(commandJournal.appendUnresolved(any())).thenReturn(1L);
+        when(commandJournal.whenDurable(1L)).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        OrderSubmission accepted = pipeline.submit(buyRequest).join();
+
+        // Then
+        assertEquals(1L, accepted.handle());
+        assertEquals(OrderSubmission.Status.ACCEPTED, accepted.status());
+        assertThrows(RuntimeException.class, () -> pipeline.submit(sellRequest));
+        verify(commandJournal, times(1)).appendUnresolved(any());
+    }
+
+    @Test
+    void testApplyBatch_FailedBatchRetriesOrdersOneByOne() {
+        // Given
+        ReflectionTestUtils.setField(pipeline, "capacity", new Semaphore(2));
+        when(commandJournal.appendUnresolved(any())).thenReturn(1L, 2L);
+        when(commandJournal.whenDurable(anyLong())).thenReturn(CompletableFuture.completedFuture(null));
+        pipeline.submit(buyRequest);
+        pipeline.submit(sellRequest);
+
+        Order order = new Order("CUST001", "AAPL", OrderSide.BUY, new BigDecimal("10"), new BigDecimal("150.00"));
+        order.setId(42L);
+        when(orderService.createJournaledOrder(buyRequest, 1L)).thenReturn(order);
+        when(orderService.createJournaledOrder(sellRequest, 2L)).thenThrow(new RuntimeException("Insufficient AAPL balance"));
+
+        // When
+        pipeline.applyBatch(Arrays.asList(
+            new OrderSubmissionPipeline.Pending(1L, buyRequest),
+            new OrderSubmissionPipeline.Pending(2L, sellRequest)));
+
+        // Then
+        OrderSubmission created = pipeline.getSubmission(1L);
+        assertEquals(OrderSubmission.Status.CREATED, created.status());
+        assertEquals(42L, created.orderId());
+
+        OrderSubmission rejected = pipeline.getSubmission(2L);
+        assertEquals(OrderSubmission.Status.REJECTED, rejected.status());
+        assertEquals("Insufficient AAPL balance", rejected.error());
+        verify(commandJournal).resolve(2L, false);
+        verify(commandJournal, never()).resolve(1L, false);
+    }
+
+    @Test
+    void testSubmit_AnswersAndQueuesOnlyOnceJournalRecordIsOnDisk() {
+        // Given
+        CompletableFuture<Void> durable = new CompletableFuture<>();
+        when(commandJournal.appendUnresolved(any())).thenReturn(1L);
+        when(commandJournal.whenDurable(1L)).thenReturn(durable);
+        BlockingQueue<?> queue = (BlockingQueue<?>) ReflectionTestUtils.getField(pipeline, "queue");
+
+        // When
+        CompletableFuture<OrderSubmission> submission = pipeline.submit(buyRequest);
+
+        // Then: nothing is acknowledged or applied before the group fsync
+        assertFalse(submission.isDone());
+        assertTrue(queue.isEmpty());
+
+        durable.complete(null);
+        assertEquals(1L, submission.join().handle());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void testGetSubmission_AfterRestartFindsOrderByJournalSequence() {
+        // Given: no in-memory status, the order was created from the journal before or during recovery
+        Order order = new Order("CUST001", "AAPL", OrderSide.BUY, new BigDecimal("10"), new BigDecimal("150.00"));
+        order.setId(42L);
+        order.setJournalSequence(7L);
+        when(orderRepository.findByJournalSequence(7L)).thenReturn(Optional.of(order));
+
+        // When
+        OrderSubmission submission = pipeline.getSubmission(7L);
+
+        // Then
+        assertEquals(OrderSubmission.Status.CREATED, submission.status());
+        assertEquals(42L, submission.orderId());
+        assertEquals("CUST001", submission.customerId());
+    }
+}
@@ -0,0 +1,86 @@
+package com.brokerage.readmodel;
+
+import com.brokerage.dto.CustomerSummary;
+import com.brokerage.model.OrderSide;
+import com.brokerage.model.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerSummaryProjectionTest {
+
+    private CustomerSummaryProjection projection;
+
+    @BeforeEach
+    void setUp() {
+        projection = new CustomerSummaryProjection();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        projection.shutdown();
+    }
+
+    @Test
+    void testCreatedOrdersReserveBalance() {
+        // When
+        projection.apply(event(1L, OrderSide.BUY, "10", null, OrderStatus.PENDING));
+        projection.apply(event(2L, OrderSide.SELL, "4", null, OrderStatus.PENDING));
+
+        // Then
+        CustomerSummary summary = projection.getSummary("CUST001");
+        assertEquals(2, summary.openOrders());
+        assertEquals(new BigDecimal("10"), summary.reservedByAsset().get("TRY"));
+        assertEquals(new BigDecimal("4"), summary.reservedByAsset().get("AAPL"));
+        assertEquals(BigDecimal.ZERO, summary.realizedVolumeToday());
+    }
+
+    @Test
+    void testCancelReleasesReservation() {
+        // Given
+        projection.apply(event(1L, OrderSide.BUY, "10", null, OrderStatus.PENDING));
+
+        // When
+        projection.apply(event(1L, OrderSide.BUY, "10", OrderStatus.PENDING, OrderStatus.CANCELED));
+
+        // Then
+        CustomerSummary summary = projection.getSummary("CUST001");
+        assertEquals(0, summary.openOrders());
+        assertTrue(summary.reservedByAsset().isEmpty());
+    }
+
+    @Test
+    void testMatchAddsRealizedVolume() {
+        // Given
+        projection.apply(event(1L, OrderSide.SELL, "2", null, OrderStatus.PENDING));
+
+        // When
+        projection.apply(event(1L, OrderSide.SELL, "2", OrderStatus.PENDING, OrderStatus.MATCHED));
+
+        // Then
+        CustomerSummary summary = projection.getSummary("CUST001");
+        assertEquals(0, summary.openOrders());
+        assertTrue(summary.reservedByAsset().isEmpty());
+        assertEquals(0, new BigDecimal("300.00").compareTo(summary.realizedVolumeToday()));
+    }
+
+    @Test
+    void testUnknownCustomerGetsEmptySummary() {
+        CustomerSummary summary = projection.getSummary("CUST404");
+
+        assertEquals("CUST404", summary.customerId());
+        assertEquals(0, summary.openOrders());
+        assertTrue(summary.reservedByAsset().isEmpty());
+    }
+
+    private OrderStateChangedEvent event(Long orderId, OrderSide side, String size,
+                                         OrderStatus previousStatus, OrderStatus newStatus) {
+        return new OrderStateChangedEvent(orderId, "CUST001", "AAPL", side,
+                new BigDecimal(size), new BigDecimal("150.00"), previousStatus, newStatus, LocalDateTime.now());
+    }
+}
@@ -2,6 +2,7 @@ package com.brokerage.security;
 
 import com.brokerage.dto.LoginRequest;
 import com.brokerage.dto.LoginResponse;
+import com.brokerage.dto.RefreshTokenRequest;
 import com.brokerage.model.User;
 import com.brokerage.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -14,6 +15,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
@@ -54,9 +56,7 @@ class AuthenticationIntegrationTest {
     void testAdminLogin_Success() throws Exception {
         LoginRequest loginRequest = new LoginRequest("admin", "admin123");
 
-        MvcResult result = mockMvc.perform(post("/api/auth/login")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(loginRequest)))
+        MvcResult result = performAuth("/api/auth/login", loginRequest)
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").exists())
                 .andExpect(jsonPath("$.username").value("admin"))
@@ -76,9 +76,7 @@ class AuthenticationIntegrationTest {
     void testCustomerLogin_Success() throws Exception {
         LoginRequest loginRequest = new LoginRequest("customer1", "customer123");
 
-        MvcResult result = mockMvc.perform(post("/api/auth/login")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(loginRequest)))
+        MvcResult result = performAuth("/api/auth/login", loginRequest)
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").exists())
                 .andExpect(jsonPath("$.username").value("customer1"))
@@ -98,9 +96,7 @@ class AuthenticationIntegrationTest {
     void testLogin_InvalidCredentials() throws Exception {
         LoginRequest loginRequest = new LoginRequest("admin", "wrongpassword");
 
-        mockMvc.perform(post("/api/auth/login")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(loginRequest)))
+        performAuth("/api/auth/login", loginRequest)
                 .andExpect(status().isForbidden()); 
     }
 
@@ -108,9 +104,7 @@ class AuthenticationIntegrationTest {
     void testLogin_NonExistentUser() throws Exception {
         LoginRequest loginRequest = new LoginRequest("nonexistent", "password");
 
-        mockMvc.perform(post("/api/auth/login")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(loginRequest)))
+        performAuth("/api/auth/login", loginRequest)
                 .andExpect(status().isForbidden()); 
     }
 
@@ -118,9 +112,7 @@ class AuthenticationIntegrationTest {
     void testRegisterNewCustomer_Success() throws Exception {
         LoginRequest registerRequest = new LoginRequest("newcustomer", "password123");
 
-        mockMvc.perform(post("/api/auth/register")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(registerRequest)))
+        performAuth("/api/auth/register", registerRequest)
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.username").value("newcustomer"))
                 .andExpect(jsonPath("$.role").value("CUSTOMER"))
@@ -137,9 +129,7 @@ class AuthenticationIntegrationTest {
     void testRegister_DuplicateUsername() throws Exception {
         LoginRequest registerRequest = new LoginRequest("admin", "newpassword");
 
-        mockMvc.perform(post("/api/auth/register")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(registerRequest)))
+        performAuth("/api/auth/register", registerRequest)
                 .andExpect(status().isBadRequest()) 
                 .andExpect(jsonPath("$.error").value("Username already exists."));
     }
@@ -148,9 +138,7 @@ class AuthenticationIntegrationTest {
     void testJWTTokenValidation_ValidToken() throws Exception {
         LoginRequest loginRequest = new LoginRequest("customer1", "customer123");
         
-        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(loginRequest)))
+        MvcResult loginResult = performAuth("/api/auth/login", loginRequest)
                 .andExpect(status().isOk())
                 .andReturn();
                 
@@ -164,6 +152,47 @@ class AuthenticationIntegrationTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void testLogout_RevokesAccessToken() throws Exception {
+        LoginResponse response = login("customer1", "customer123");
+
+        mockMvc.perform(post("/api/auth/logout")
+                .header("Authorization", "Bearer " + response.getToken())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest(response.getRefreshToken()))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/assets")
+                .param("customerId", "CUST001")
+                .header("Authorization", "Bearer " + response.getToken()))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest(response.getRefreshToken()))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testRefresh_RotatesRefreshToken() throws Exception {
+        LoginResponse response = login("customer1", "customer123");
+        String body = objectMapper.writeValueAsString(new RefreshTokenRequest(response.getRefreshToken()));
+
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").exists())
+                .andExpect(jsonPath("$.refreshToken").exists())
+                .andExpect(jsonPath("$.customerId").value("CUST001"));
+
+        // A refresh token can only be used once
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     void testJWTTokenValidation_InvalidToken() throws Exception {
         String invalidToken = "invalid.jwt.token";
@@ -191,4 +220,21 @@ class AuthenticationIntegrationTest {
                 .param("customerId", "CUST001"))
                 .andExpect(status().isForbidden()); 
     }
+
+    private LoginResponse login(String username, String password) throws Exception {
+        MvcResult result = performAuth("/api/auth/login", new LoginRequest(username, password))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), LoginResponse.class);
+    }
+
+    // Login and registration complete asynchronously on the password hashing pool
+    private ResultActions performAuth(String path, LoginRequest body) throws Exception {
+        MvcResult pending = mockMvc.perform(post(path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(pending));
+    }
 }
@@ -14,6 +14,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
@@ -277,9 +278,7 @@ class AuthorizationIntegrationTest {
     private String getTokenForUser(String username, String password) throws Exception {
         LoginRequest loginRequest = new LoginRequest(username, password);
         
-        MvcResult result = mockMvc.perform(post("/api/auth/login")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(loginRequest)))
+        MvcResult result = performAuth("/api/auth/login", loginRequest)
                 .andExpect(status().isOk())
                 .andReturn();
 
@@ -287,4 +286,14 @@ class AuthorizationIntegrationTest {
         LoginResponse response = objectMapper.readValue(responseContent, LoginResponse.class);
         return response.getToken();
     }
+
+    // Login and registration complete asynchronously on the password hashing pool
+    private ResultActions performAuth(String path, LoginRequest body) throws Exception {
+        MvcResult pending = mockMvc.perform(post(path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(pending));
+    }
 }
@@ -0,0 +1,88 @@
+package com.brokerage.security;
+
+import com.brokerage.security.CustomerRateLimiter.EndpointClass;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerRateLimiterTest {
+
+    private CustomerRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new CustomerRateLimiter();
+        ReflectionTestUtils.setField(rateLimiter, "maxKeys", 100);
+        ReflectionTestUtils.setField(rateLimiter, "entryPerSecond", 1.0);
+        ReflectionTestUtils.setField(rateLimiter, "entryBurst", 3);
+        ReflectionTestUtils.setField(rateLimiter, "batchPerSecond", 1.0);
+        ReflectionTestUtils.setField(rateLimiter, "batchBurst", 10);
+        ReflectionTestUtils.setField(rateLimiter, "cancelPerSecond", 1.0);
+        ReflectionTestUtils.setField(rateLimiter, "cancelBurst", 1);
+        ReflectionTestUtils.setField(rateLimiter, "queryPerSecond", 1.0);
+        ReflectionTestUtils.setField(rateLimiter, "queryBurst", 1);
+        rateLimiter.init();
+    }
+
+    @Test
+    void testTryAcquire_AdmitsBurstThenRejects() {
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(EndpointClass.ENTRY, "CUST001"));
+        }
+        long waitNanos = rateLimiter.tryAcquire(EndpointClass.ENTRY, "CUST001");
+
+        // Then
+        assertTrue(waitNanos > 0);
+        assertTrue(waitNanos <= TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void testTryAcquire_BucketsAreIndependent() {
+        // Given
+        assertEquals(0, rateLimiter.tryAcquire(EndpointClass.CANCEL, "CUST001"));
+        assertTrue(rateLimiter.tryAcquire(EndpointClass.CANCEL, "CUST001") > 0);
+
+        // When & Then
+        assertEquals(0, rateLimiter.tryAcquire(EndpointClass.CANCEL, "CUST002"));
+        assertEquals(0, rateLimiter.tryAcquire(EndpointClass.QUERY, "CUST001"));
+    }
+
+    @Test
+    void testTryAcquire_ChargesBatchPerOrder() {
+        // Given
+        assertEquals(0, rateLimiter.tryAcquire(EndpointClass.BATCH, "CUST001", 8));
+
+        // When
+        long waitNanos = rateLimiter.tryAcquire(EndpointClass.BATCH, "CUST001", 3);
+
+        // Then
+        assertTrue(waitNanos > 0);
+        assertEquals(0, rateLimiter.tryAcquire(EndpointClass.BATCH, "CUST001", 2));
+        assertTrue(rateLimiter.tryAcquire(EndpointClass.BATCH, "CUST002", 11) > 0);
+    }
+
+    @Test
+    void testSize_KeepsBucketsThatAreStillDraining() {
+        // Given
+        rateLimiter.tryAcquire(EndpointClass.ENTRY, "CUST001");
+
+        // When & Then
+        assertEquals(1, rateLimiter.size());
+    }
+
+    @Test
+    void testTryAcquire_BoundsKeysPerEndpointClass() {
+        // Given: none of these buckets has refilled yet
+        for (int i = 0; i < 150; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(EndpointClass.ENTRY, "CUST" + i));
+        }
+
+        // When & Then
+        assertTrue(rateLimiter.size() <= 100);
+    }
+}
@@ -0,0 +1,97 @@
+package com.brokerage.security;
+
+import com.brokerage.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET =
+        "VGVzdFNlY3JldEtleUZvclRlc3RpbmdQdXJwb3Nlc09ubHlCZXJrYXlVZ3Vyb2dsdUlXaWxsR2V0VGhpc0pvYg==";
+
+    private JwtTokenProvider tokenProvider;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        verifiedTokenCache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(verifiedTokenCache, "maxEntries", 2);
+
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", 60000L);
+        ReflectionTestUtils.setField(tokenProvider, "verifiedTokenCache", verifiedTokenCache);
+        tokenProvider.init();
+    }
+
+    @Test
+    void testVerifyAccessToken_ReadsClaimsAndCachesToken() {
+        // Given
+        String token = tokenFor("customer1", User.UserRole.CUSTOMER, "CUST001");
+
+        // When
+        VerifiedToken first = tokenProvider.verifyAccessToken(token);
+        VerifiedToken second = tokenProvider.verifyAccessToken(token);
+
+        // Then
+        assertNotNull(first);
+        assertNotNull(first.tokenId());
+        assertEquals("customer1", first.principal().getUsername());
+        assertEquals("CUST001", first.principal().getCustomerId());
+        assertFalse(first.principal().isAdmin());
+        assertSame(first, second);
+        assertEquals(1, verifiedTokenCache.size());
+    }
+
+    @Test
+    void testVerifyAccessToken_TamperedTokenIsRejected() {
+        // Given
+        String token = tokenFor("admin", User.UserRole.ADMIN, null);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // When & Then
+        assertNull(tokenProvider.verifyAccessToken(tampered));
+        assertFalse(tokenProvider.validateToken(tampered));
+        assertEquals(0, verifiedTokenCache.size());
+    }
+
+    @Test
+    void testVerifyTokens_TypesAreNotInterchangeable() {
+        // Given
+        BrokerageUserPrincipal principal = new BrokerageUserPrincipal("customer1", null, User.UserRole.CUSTOMER, "CUST001");
+        String accessToken = tokenProvider.generateAccessToken(principal);
+        String refreshToken = tokenProvider.generateRefreshToken(principal);
+
+        // When & Then
+        assertNull(tokenProvider.verifyAccessToken(refreshToken));
+        assertNull(tokenProvider.verifyRefreshToken(accessToken));
+        assertNotNull(tokenProvider.verifyRefreshToken(refreshToken));
+    }
+
+    @Test
+    void testVerifiedTokenCache_ExpiredEntriesAreNotServed() {
+        // Given
+        BrokerageUserPrincipal principal = new BrokerageUserPrincipal("admin", null, User.UserRole.ADMIN, null);
+        verifiedTokenCache.put("expired", new VerifiedToken(principal, "jti-1", System.currentTimeMillis() - 1));
+        VerifiedToken live = new VerifiedToken(principal, "jti-2", System.currentTimeMillis() + 60000);
+        verifiedTokenCache.put("live", live);
+
+        // When
+        verifiedTokenCache.put("overflow", new VerifiedToken(principal, "jti-3", System.currentTimeMillis() + 60000));
+
+        // Then
+        assertNull(verifiedTokenCache.get("expired"));
+        assertSame(live, verifiedTokenCache.get("live"));
+        assertNull(verifiedTokenCache.get("overflow"));
+    }
+
+    private String tokenFor(String username, User.UserRole role, String customerId) {
+        BrokerageUserPrincipal principal = new BrokerageUserPrincipal(username, "secret", role, customerId);
+        return tokenProvider.generateToken(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,130 @@
+package com.brokerage.security;
+
+import com.brokerage.config.ReadWriteRoutingDataSource;
+import com.brokerage.config.ReadYourWritesTracker;
+import com.brokerage.model.RevokedToken;
+import com.brokerage.model.User;
+import com.brokerage.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Spy
+    private ReadYourWritesTracker readYourWritesTracker = new ReadYourWritesTracker();
+
+    @InjectMocks
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenRevocationService, "expectedEntries", 1000);
+        ReflectionTestUtils.setField(tokenRevocationService, "falsePositiveRate", 0.001);
+        when(revokedTokenRepository.findTokenIdsByExpiresAtAfter(any())).thenReturn(Arrays.asList("revoked-on-startup"));
+        tokenRevocationService.init();
+    }
+
+    @Test
+    void testIsRevoked_BloomMissSkipsDatabase() {
+        // When
+        boolean revoked = tokenRevocationService.isRevoked("never-revoked");
+
+        // Then
+        assertFalse(revoked);
+        verify(revokedTokenRepository, never()).existsById(anyString());
+    }
+
+    @Test
+    void testIsRevoked_LoadedOnStartup() {
+        // Given
+        when(revokedTokenRepository.existsById("revoked-on-startup")).thenReturn(true);
+
+        // When & Then
+        assertTrue(tokenRevocationService.isRevoked("revoked-on-startup"));
+    }
+
+    @Test
+    void testRevokeAccessToken_StoresIdAndInvalidatesCache() {
+        // Given
+        BrokerageUserPrincipal principal = new BrokerageUserPrincipal("customer1", null, User.UserRole.CUSTOMER, "CUST001");
+        VerifiedToken token = new VerifiedToken(principal, "jti-1", System.currentTimeMillis() + 60000);
+        when(revokedTokenRepository.existsById("jti-1")).thenReturn(true);
+
+        // When
+        tokenRevocationService.revokeAccessToken("access-token", token);
+
+        // Then
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+        verify(verifiedTokenCache).invalidate("access-token");
+        assertTrue(tokenRevocationService.isRevoked("jti-1"));
+    }
+
+    @Test
+    void testIsRevoked_SeesRevocationBeforeReplicaCatchesUp() {
+        // Given: a replica that has not caught up; only the primary has the row
+        var routing = new ReadWriteRoutingDataSource() {
+            Object route() {
+                return determineCurrentLookupKey();
+            }
+        };
+        BrokerageUserPrincipal principal = new BrokerageUserPrincipal("customer1", null, User.UserRole.CUSTOMER, "CUST001");
+        VerifiedToken token = new VerifiedToken(principal, "jti-2", System.currentTimeMillis() + 60000);
+        when(revokedTokenRepository.existsById("jti-2"))
+            .thenAnswer(invocation -> routing.route() == ReadWriteRoutingDataSource.Route.PRIMARY);
+
+        // When: revoked, then presented straight away inside the repository's read-only transaction
+        tokenRevocationService.revokeAccessToken("access-token-2", token);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        boolean revoked;
+        Object routeAfterwards;
+        try {
+            revoked = tokenRevocationService.isRevoked("jti-2");
+            routeAfterwards = routing.route();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+
+        // Then: the check went to the primary, and other reads are back on the replica
+        assertTrue(revoked);
+        assertEquals(ReadWriteRoutingDataSource.Route.REPLICA, routeAfterwards);
+    }
+
+    @Test
+    void testRevokeIfActive_OnlyFirstCallerWins() {
+        // Given
+        BrokerageUserPrincipal principal = new BrokerageUserPrincipal("customer1", null, User.UserRole.CUSTOMER, "CUST001");
+        VerifiedToken token = new VerifiedToken(principal, "refresh-1", System.currentTimeMillis() + 60000);
+        when(revokedTokenRepository.insertIfAbsent(eq("refresh-1"), any()))
+            .thenReturn(1)
+            .thenReturn(0)
+            .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // When & Then: the first insert wins; an existing row or a lost race on the key both lose
+        assertTrue(tokenRevocationService.revokeIfActive(token));
+        assertFalse(tokenRevocationService.revokeIfActive(token));
+        assertFalse(tokenRevocationService.revokeIfActive(token));
+    }
+}
@@ -0,0 +1,115 @@
+package com.brokerage.security;
+
+import com.brokerage.model.Asset;
+import com.brokerage.model.User;
+import com.brokerage.repository.AssetRepository;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * One POST /api/orders traced end to end into an in-memory exporter: HTTP server span, JWT verification,
+ * OrderService/AssetService methods and SQL statements, all in the same trace.
+ */
+@SpringBootTest(properties = "management.tracing.sampling.probability=1.0")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+@ActiveProfiles("test")
+@Import(TracingIntegrationTest.InMemoryExporterConfig.class)
+class TracingIntegrationTest {
+
+    private static final String CUSTOMER_ID = "TRACE001";
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+
+        // Stand-in for the OTLP exporter: picked up by the auto-configured tracer provider
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @BeforeEach
+    void setUp() {
+        if (assetRepository.findByCustomerIdAndAssetName(CUSTOMER_ID, "TRY").isEmpty()) {
+            assetRepository.save(new Asset(CUSTOMER_ID, "TRY", new BigDecimal("100000"), new BigDecimal("100000")));
+            assetRepository.save(new Asset(CUSTOMER_ID, "AAPL", new BigDecimal("100"), new BigDecimal("100")));
+        }
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        spanExporter.reset();
+    }
+
+    @Test
+    void testCreateOrder_TracesFilterServiceAndSql() throws Exception {
+        // Given
+        String token = jwtTokenProvider.generateAccessToken(
+            new BrokerageUserPrincipal("tracer", null, User.UserRole.CUSTOMER, CUSTOMER_ID));
+
+        // When
+        mockMvc.perform(post("/api/orders")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"customerId\":\"" + CUSTOMER_ID + "\",\"assetName\":\"AAPL\",\"orderSide\":\"BUY\",\"size\":1,\"price\":100}"))
+            .andExpect(status().isOk());
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+
+        // Then
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        SpanData http = findSpan(spans, "uri", "/api/orders");
+        SpanData jwt = spans.stream().filter(span -> span.getName().equals("brokerage.auth.jwt")).findFirst().orElseThrow();
+        SpanData createOrder = findSpan(spans, "method", "createOrder");
+        SpanData reserve = findSpan(spans, "method", "updateAssetForOrder");
+        boolean hasSql = spans.stream().anyMatch(span -> span.getAttributes().asMap().keySet().stream()
+            .anyMatch(key -> key.getKey().startsWith("jdbc.query")));
+
+        assertEquals("authenticated", jwt.getAttributes().get(AttributeKey.stringKey("outcome")));
+        assertTrue(hasSql, "expected JDBC query spans, got " + spans);
+        for (SpanData span : List.of(jwt, createOrder, reserve)) {
+            assertEquals(http.getTraceId(), span.getTraceId(), span.getName() + " is not in the request's trace");
+        }
+    }
+
+    private static SpanData findSpan(List<SpanData> spans, String attribute, String value) {
+        return spans.stream()
+            .filter(span -> value.equals(span.getAttributes().get(AttributeKey.stringKey(attribute))))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("no span with " + attribute + "=" + value + " in " + spans));
+    }
+}
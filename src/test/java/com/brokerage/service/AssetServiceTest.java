@@ -0,0 +1,122 @@
+package com.brokerage.service;
+
+import com.brokerage.config.ReadYourWritesTracker;
+import com.brokerage.config.TradingMetrics;
+import com.brokerage.dto.CreateOrderRequest;
+import com.brokerage.model.Asset;
+import com.brokerage.model.OrderSide;
+import com.brokerage.repository.AssetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AssetServiceTest {
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private TradingMetrics tradingMetrics;
+
+    @Spy
+    private ReadYourWritesTracker readYourWritesTracker = new ReadYourWritesTracker();
+
+    @InjectMocks
+    private AssetService assetService;
+
+    private Asset tryAsset;
+    private Asset aaplAsset;
+    private Asset msftAsset;
+
+    @BeforeEach
+    void setUp() {
+        tryAsset = new Asset("CUST001", "TRY", new BigDecimal("1000"), new BigDecimal("1000"));
+        aaplAsset = new Asset("CUST001", "AAPL", new BigDecimal("10"), new BigDecimal("10"));
+        msftAsset = new Asset("CUST001", "MSFT", new BigDecimal("5"), new BigDecimal("5"));
+    }
+
+    @Test
+    void testPlanReservations_ChecksEachOrderAgainstRunningBalance() {
+        // Given
+        when(assetRepository.findByCustomerId("CUST001")).thenReturn(Arrays.asList(tryAsset, aaplAsset, msftAsset));
+        List<CreateOrderRequest> requests = Arrays.asList(
+            order(OrderSide.BUY, "AAPL", "600"),
+            order(OrderSide.BUY, "MSFT", "500"),
+            order(OrderSide.BUY, "AAPL", "400"),
+            order(OrderSide.SELL, "AAPL", "8"),
+            order(OrderSide.SELL, "AAPL", "5"));
+
+        // When
+        AssetService.ReservationPlan plan = assetService.planReservations("CUST001", requests);
+
+        // Then
+        assertEquals(Arrays.asList(null, "Insufficient TRY balance for order", null, null,
+            "Insufficient asset balance for order"), plan.rejections());
+        assertTrue(plan.isAccepted(2));
+        assertTrue(plan.hasRejections());
+        assertEquals(0, plan.usableAfter().get("TRY").compareTo(BigDecimal.ZERO));
+        assertEquals(0, plan.usableAfter().get("AAPL").compareTo(new BigDecimal("2")));
+        assertFalse(plan.usableAfter().containsKey("MSFT"));
+        assertEquals(0, tryAsset.getUsableSize().compareTo(new BigDecimal("1000")));
+        verify(assetRepository, times(1)).findByCustomerId("CUST001");
+        verify(assetRepository, never()).save(any());
+    }
+
+    @Test
+    void testPlanReservations_RejectsOrdersForAssetsNotHeld() {
+        // Given
+        when(assetRepository.findByCustomerId("CUST001")).thenReturn(List.of(aaplAsset));
+        List<CreateOrderRequest> requests = Arrays.asList(
+            order(OrderSide.SELL, "GOOG", "1"),
+            order(OrderSide.BUY, "AAPL", "1"),
+            order(OrderSide.SELL, "AAPL", "1"));
+
+        // When
+        AssetService.ReservationPlan plan = assetService.planReservations("CUST001", requests);
+
+        // Then
+        assertEquals("Asset not found: GOOG for customer: CUST001", plan.rejections().get(0));
+        assertEquals("Asset not found: TRY for customer: CUST001", plan.rejections().get(1));
+        assertTrue(plan.isAccepted(2));
+    }
+
+    @Test
+    void testApplyReservations_SavesEachTouchedAssetOnce() {
+        // Given
+        when(assetRepository.findByCustomerId("CUST001")).thenReturn(Arrays.asList(tryAsset, aaplAsset, msftAsset));
+        AssetService.ReservationPlan plan = assetService.planReservations("CUST001", Arrays.asList(
+            order(OrderSide.BUY, "AAPL", "100"),
+            order(OrderSide.BUY, "MSFT", "200"),
+            order(OrderSide.SELL, "AAPL", "3"),
+            order(OrderSide.SELL, "AAPL", "20")));
+
+        // When
+        assetService.applyReservations(plan);
+
+        // Then
+        assertEquals(0, tryAsset.getUsableSize().compareTo(new BigDecimal("700")));
+        assertEquals(0, aaplAsset.getUsableSize().compareTo(new BigDecimal("7")));
+        verify(assetRepository, times(1)).save(tryAsset);
+        verify(assetRepository, times(1)).save(aaplAsset);
+        verify(assetRepository, never()).save(msftAsset);
+        verify(tradingMetrics, times(3)).recordReservation(any(), any(), eq(true));
+        verify(tradingMetrics, times(1)).recordReservation("AAPL", OrderSide.SELL, false);
+    }
+
+    private static CreateOrderRequest order(OrderSide side, String assetName, String size) {
+        return new CreateOrderRequest("CUST001", assetName, side, new BigDecimal(size), new BigDecimal("1.00"));
+    }
+}
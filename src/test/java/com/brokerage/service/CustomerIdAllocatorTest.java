@@ -0,0 +1,47 @@
+package com.brokerage.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerIdAllocatorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private CustomerIdAllocator customerIdAllocator;
+
+    @Test
+    void testNextCustomerId_OneSequenceCallPerBlock() {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class)))
+            .thenReturn(1000L)
+            .thenReturn(1050L);
+
+        // When
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i <= CustomerIdAllocator.BLOCK_SIZE; i++) {
+            ids.add(customerIdAllocator.nextCustomerId());
+        }
+
+        // Then
+        assertEquals(CustomerIdAllocator.BLOCK_SIZE + 1, ids.size());
+        assertTrue(ids.contains("CUST1000"));
+        assertTrue(ids.contains("CUST1049"));
+        assertTrue(ids.contains("CUST1050"));
+        verify(jdbcTemplate, times(2)).queryForObject(anyString(), eq(Long.class));
+    }
+}
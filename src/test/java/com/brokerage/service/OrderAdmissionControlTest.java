@@ -0,0 +1,114 @@
+package com.brokerage.service;
+
+import com.brokerage.service.OrderAdmissionControl.AdmissionRejectedException;
+import com.brokerage.service.OrderAdmissionControl.Permit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderAdmissionControlTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderAdmissionControl admissionControl;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        admissionControl = new OrderAdmissionControl();
+        ReflectionTestUtils.setField(admissionControl, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(admissionControl, "assetMaxInFlight", 3);
+        ReflectionTestUtils.setField(admissionControl, "customerMaxInFlight", 2);
+        ReflectionTestUtils.setField(admissionControl, "cancelHeadroom", 1);
+        admissionControl.registerMetrics();
+    }
+
+    @Test
+    void testAdmitCreate_RejectsOverCustomerBudget() {
+        // Given
+        admissionControl.admitCreate("CUST001", "AAPL");
+        admissionControl.admitCreate("CUST001", "AAPL");
+
+        // When & Then
+        AdmissionRejectedException ex = assertThrows(AdmissionRejectedException.class,
+            () -> admissionControl.admitCreate("CUST001", "MSFT"));
+        assertTrue(ex.getMessage().contains("CUST001"));
+        assertEquals(1.0, meterRegistry.get("brokerage.admission.rejected")
+            .tag("operation", "create").tag("budget", "customer").counter().count());
+    }
+
+    @Test
+    void testAdmitCreate_RejectsOverAssetBudgetAndReturnsCustomerSlot() {
+        // Given
+        admissionControl.admitCreate("CUST001", "AAPL");
+        admissionControl.admitCreate("CUST002", "AAPL");
+        admissionControl.admitCreate("CUST003", "AAPL");
+
+        // When & Then
+        assertThrows(AdmissionRejectedException.class, () -> admissionControl.admitCreate("CUST004", "AAPL"));
+        admissionControl.admitCreate("CUST004", "MSFT");
+        admissionControl.admitCreate("CUST004", "MSFT");
+    }
+
+    @Test
+    void testAdmitCancel_UsesHeadroomWhenOrderBudgetIsFull() {
+        // Given
+        admissionControl.admitCreate("CUST001", "AAPL");
+        admissionControl.admitCreate("CUST001", "AAPL");
+
+        // When
+        Permit cancel = admissionControl.admitCancel("CUST001");
+
+        // Then
+        assertThrows(AdmissionRejectedException.class, () -> admissionControl.admitCancel("CUST001"));
+        assertEquals(1.0, meterRegistry.get("brokerage.admission.in_flight").tag("operation", "cancel").gauge().value());
+        cancel.close();
+        assertEquals(0.0, meterRegistry.get("brokerage.admission.in_flight").tag("operation", "cancel").gauge().value());
+    }
+
+    @Test
+    void testPermit_ReleasesOnceAndFreesBudget() {
+        // Given
+        Permit permit = admissionControl.admitCreate("CUST001", "AAPL");
+        admissionControl.admitCreate("CUST001", "AAPL");
+
+        // When
+        permit.close();
+        permit.close();
+
+        // Then
+        admissionControl.admitCreate("CUST001", "AAPL");
+        assertThrows(AdmissionRejectedException.class, () -> admissionControl.admitCreate("CUST001", "AAPL"));
+        assertEquals(2.0, meterRegistry.get("brokerage.admission.in_flight").tag("operation", "create").gauge().value());
+    }
+
+    @Test
+    void testAdmitBatch_CountsEachOrderAgainstCustomerBudget() {
+        // Given
+        admissionControl.admitCreate("CUST001", "AAPL");
+
+        // When & Then
+        assertThrows(AdmissionRejectedException.class,
+            () -> admissionControl.admitBatch(Map.of("CUST001", Map.of("AAPL", 1, "MSFT", 1))));
+        assertEquals(1.0, meterRegistry.get("brokerage.admission.in_flight").tag("operation", "create").gauge().value());
+        admissionControl.admitBatch(Map.of("CUST001", Map.of("MSFT", 1)));
+    }
+
+    @Test
+    void testAdmitBatch_LargerThanBudgetHoldsWholeBudgetUntilClosed() {
+        // Given
+        Permit batch = admissionControl.admitBatch(Map.of("CUST001", Map.of("AAPL", 500)));
+
+        // When & Then
+        assertEquals(500.0, meterRegistry.get("brokerage.admission.in_flight").tag("operation", "create").gauge().value());
+        assertThrows(AdmissionRejectedException.class, () -> admissionControl.admitCreate("CUST001", "MSFT"));
+        assertThrows(AdmissionRejectedException.class, () -> admissionControl.admitCreate("CUST002", "AAPL"));
+        batch.close();
+        admissionControl.admitCreate("CUST001", "AAPL");
+        admissionControl.admitCreate("CUST002", "AAPL");
+    }
+}
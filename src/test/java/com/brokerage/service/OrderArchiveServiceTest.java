@@ -0,0 +1,125 @@
+package com.brokerage.service;
+
+import com.brokerage.dto.OrderView;
+import com.brokerage.model.ArchivedOrder;
+import com.brokerage.model.Order;
+import com.brokerage.model.OrderSide;
+import com.brokerage.model.OrderStatus;
+import com.brokerage.repository.ArchivedOrderRepository;
+import com.brokerage.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderArchiveServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @InjectMocks
+    private OrderArchiveService orderArchiveService;
+
+    private Order matchedOrder;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderArchiveService, "minAgeDays", 30L);
+        ReflectionTestUtils.setField(orderArchiveService, "batchSize", 100);
+
+        matchedOrder = new Order(
+            "CUST001", "AAPL", OrderSide.BUY,
+            new BigDecimal("10"), new BigDecimal("150.00")
+        );
+        matchedOrder.setId(7L);
+        matchedOrder.setStatus(OrderStatus.MATCHED);
+        matchedOrder.setCreateDate(LocalDateTime.now().minusDays(60));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testArchiveBatch_MovesTerminalOrders() {
+        // Given
+        LocalDateTime cutoff = orderArchiveService.archiveHorizon();
+        when(orderRepository.findByStatusInAndCreateDateBefore(anyCollection(), eq(cutoff), any(Pageable.class)))
+            .thenReturn(Arrays.asList(matchedOrder));
+
+        // When
+        int moved = orderArchiveService.archiveBatch(cutoff);
+
+        // Then
+        assertEquals(1, moved);
+        ArgumentCaptor<List<ArchivedOrder>> captor = ArgumentCaptor.forClass(List.class);
+        verify(archivedOrderRepository).saveAll(captor.capture());
+        ArchivedOrder archived = captor.getValue().get(0);
+        assertEquals(7L, archived.getId());
+        assertEquals(OrderStatus.MATCHED, archived.getStatus());
+        assertTrue(archived.isNew());
+        verify(orderRepository).deleteAllInBatch(Arrays.asList(matchedOrder));
+    }
+
+    @Test
+    void testArchiveBatch_NothingToArchive() {
+        // Given
+        when(orderRepository.findByStatusInAndCreateDateBefore(anyCollection(), any(), any(Pageable.class)))
+            .thenReturn(Collections.emptyList());
+
+        // When
+        int moved = orderArchiveService.archiveBatch(LocalDateTime.now());
+
+        // Then
+        assertEquals(0, moved);
+        verify(archivedOrderRepository, never()).saveAll(any());
+        verify(orderRepository, never()).deleteAllInBatch(any());
+    }
+
+    @Test
+    void testFindCustomerHistory_RecentRangeSkipsHistoryTable() {
+        // When
+        List<OrderView> result = orderArchiveService.findCustomerHistory(
+            "CUST001", LocalDateTime.now().minusDays(1), null);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(archivedOrderRepository);
+    }
+
+    @Test
+    void testFindCustomerHistory_OldRangeQueriesHistoryTable() {
+        // Given
+        when(archivedOrderRepository.findViewsByCustomerIdAndCreateDateBetween(eq("CUST001"), any(), any()))
+            .thenReturn(Arrays.asList(OrderView.from(matchedOrder)));
+
+        // When
+        List<OrderView> result = orderArchiveService.findCustomerHistory(
+            "CUST001", LocalDateTime.now().minusDays(90), LocalDateTime.now());
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(7L, result.get(0).id());
+        assertEquals(OrderStatus.MATCHED, result.get(0).status());
+        verify(archivedOrderRepository, never()).findViewsByCustomerId(anyString());
+    }
+}
@@ -0,0 +1,152 @@
+package com.brokerage.service;
+
+import com.brokerage.dto.CreateOrderRequest;
+import com.brokerage.model.Asset;
+import com.brokerage.model.Order;
+import com.brokerage.model.OrderSide;
+import com.brokerage.repository.AssetRepository;
+import com.brokerage.repository.OrderRepository;
+import com.brokerage.support.JdbcStatementCounter;
+import com.brokerage.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pins the number of SQL statements per order and asset flow. If a change adds a query, update the numbers
+ * here only when the extra statement is intended.
+ *
+ * Not @Transactional: every service call runs in its own transaction, so the flush at commit is counted too.
+ * The batch path inserts through JdbcTemplate, so it is counted at the JDBC layer with JdbcStatementCounter.
+ */
+@SpringBootTest(properties = SqlStatementCounter.ENABLE)
+@Import(JdbcStatementCounter.class)
+@ActiveProfiles("test")
+class OrderQueryCountTest {
+
+    private static final AtomicInteger CUSTOMER_SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private String customerId;
+
+    @BeforeEach
+    void setUp() {
+        customerId = "QC" + CUSTOMER_SEQUENCE.incrementAndGet();
+        assetRepository.save(new Asset(customerId, "TRY", new BigDecimal("100000"), new BigDecimal("100000")));
+        assetRepository.save(new Asset(customerId, "AAPL", new BigDecimal("100"), new BigDecimal("100")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll(orderRepository.findByCustomerId(customerId));
+        assetRepository.deleteAll(assetRepository.findByCustomerId(customerId));
+    }
+
+    private Order pendingBuyOrder() {
+        return orderRepository.save(new Order(customerId, "AAPL", OrderSide.BUY, new BigDecimal("10"), new BigDecimal("150.00")));
+    }
+
+    @Test
+    void testCreateOrder_Buy() {
+        // Given
+        CreateOrderRequest request = new CreateOrderRequest(customerId, "AAPL", OrderSide.BUY,
+            new BigDecimal("10"), new BigDecimal("150.00"));
+        SqlStatementCounter.reset();
+
+        // When
+        orderService.createOrder(request);
+
+        // Then: TRY check, AAPL + TRY in updateAssetForOrder, order insert, TRY update at commit
+        SqlStatementCounter.assertCounts(3, 1, 1, 0);
+    }
+
+    @Test
+    void testCreateOrder_Sell() {
+        // Given
+        CreateOrderRequest request = new CreateOrderRequest(customerId, "AAPL", OrderSide.SELL,
+            new BigDecimal("5"), new BigDecimal("155.00"));
+        SqlStatementCounter.reset();
+
+        // When
+        orderService.createOrder(request);
+
+        // Then: AAPL check, AAPL again in updateAssetForOrder, order insert, AAPL update at commit
+        SqlStatementCounter.assertCounts(2, 1, 1, 0);
+    }
+
+    @Test
+    void testCreateOrders_Batch() {
+        // Given
+        List<CreateOrderRequest> requests = List.of(
+            new CreateOrderRequest(customerId, "AAPL", OrderSide.BUY, new BigDecimal("10"), new BigDecimal("150.00")),
+            new CreateOrderRequest(customerId, "AAPL", OrderSide.BUY, new BigDecimal("5"), new BigDecimal("151.00")),
+            new CreateOrderRequest(customerId, "AAPL", OrderSide.SELL, new BigDecimal("20"), new BigDecimal("155.00")));
+        JdbcStatementCounter.reset();
+
+        // When
+        orderService.createOrders(requests, true);
+
+        // Then: one asset lookup, one batched insert of the three orders, TRY and AAPL updates batched at commit
+        JdbcStatementCounter.assertCounts(1, 1, 1, 0);
+        assertEquals(3 + 2, JdbcStatementCounter.batchedRows());
+    }
+
+    @Test
+    void testCancelOrder() {
+        // Given
+        Order order = pendingBuyOrder();
+        SqlStatementCounter.reset();
+
+        // When
+        orderService.cancelOrder(order.getId(), customerId);
+
+        // Then: order, TRY, then order and TRY updates at commit
+        SqlStatementCounter.assertCounts(2, 0, 2, 0);
+    }
+
+    @Test
+    void testMatchOrder() {
+        // Given
+        Order order = pendingBuyOrder();
+        SqlStatementCounter.reset();
+
+        // When
+        orderService.matchOrder(order.getId());
+
+        // Then: order, AAPL, then order and AAPL updates at commit
+        SqlStatementCounter.assertCounts(2, 0, 2, 0);
+    }
+
+    @Test
+    void testUpdateAssetForOrder_Buy() {
+        // Given
+        SqlStatementCounter.reset();
+
+        // When
+        assetService.updateAssetForOrder(customerId, "AAPL", OrderSide.BUY, new BigDecimal("10"));
+
+        // Then
+        SqlStatementCounter.assertCounts(2, 0, 1, 0);
+    }
+}
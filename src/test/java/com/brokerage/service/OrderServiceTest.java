@@ -1,6 +1,11 @@
 package com.brokerage.service;
 
+import com.brokerage.config.ReadYourWritesTracker;
+import com.brokerage.config.TradingMetrics;
+import com.brokerage.dto.BatchOrderResult;
 import com.brokerage.dto.CreateOrderRequest;
+import com.brokerage.dto.OrderView;
+import com.brokerage.journal.OrderCommandJournal;
 import com.brokerage.model.Order;
 import com.brokerage.model.OrderSide;
 import com.brokerage.model.OrderStatus;
@@ -10,16 +15,24 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +44,18 @@ class OrderServiceTest {
     @Mock
     private AssetService assetService;
 
+    @Mock
+    private OrderArchiveService orderArchiveService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TradingMetrics tradingMetrics;
+
+    @Spy
+    private ReadYourWritesTracker readYourWritesTracker = new ReadYourWritesTracker();
+
     @InjectMocks
     private OrderService orderService;
 
@@ -78,6 +103,7 @@ class OrderServiceTest {
             "CUST001", "AAPL", OrderSide.BUY, new BigDecimal("10")
         );
         verify(orderRepository).save(any(Order.class));
+        verify(tradingMetrics).recordOrderCommand(eq("create"), eq("AAPL"), eq(OrderSide.BUY), eq(true), anyLong());
     }
 
     @Test
@@ -111,33 +137,58 @@ class OrderServiceTest {
         // Given
         LocalDateTime startDate = LocalDateTime.now().minusDays(7);
         LocalDateTime endDate = LocalDateTime.now();
-        List<Order> expectedOrders = Arrays.asList(testOrder);
+        List<OrderView> expectedOrders = Arrays.asList(OrderView.from(testOrder));
         
-        when(orderRepository.findByCustomerIdAndCreateDateBetween("CUST001", startDate, endDate))
+        when(orderRepository.findViewsByCustomerIdAndCreateDateBetween("CUST001", startDate, endDate))
             .thenReturn(expectedOrders);
 
         // When
-        List<Order> result = orderService.getCustomerOrders("CUST001", startDate, endDate);
+        List<OrderView> result = orderService.getCustomerOrders("CUST001", startDate, endDate);
 
         // Then
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals(testOrder, result.get(0));
+        assertEquals(OrderView.from(testOrder), result.get(0));
     }
 
     @Test
     void testGetCustomerOrders_WithoutDateRange() {
         // Given
-        List<Order> expectedOrders = Arrays.asList(testOrder);
-        when(orderRepository.findByCustomerId("CUST001")).thenReturn(expectedOrders);
+        List<OrderView> expectedOrders = Arrays.asList(OrderView.from(testOrder));
+        when(orderRepository.findViewsByCustomerId("CUST001")).thenReturn(expectedOrders);
 
         // When
-        List<Order> result = orderService.getCustomerOrders("CUST001", null, null);
+        List<OrderView> result = orderService.getCustomerOrders("CUST001", null, null);
 
         // Then
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals(testOrder, result.get(0));
+        assertEquals(OrderView.from(testOrder), result.get(0));
+    }
+
+    @Test
+    void testGetCustomerOrders_IncludesArchivedHistory() {
+        // Given
+        Order archivedOrder = new Order(
+            "CUST001", "AAPL", OrderSide.SELL, 
+            new BigDecimal("3"), new BigDecimal("140.00")
+        );
+        archivedOrder.setId(0L);
+        archivedOrder.setStatus(OrderStatus.MATCHED);
+        archivedOrder.setCreateDate(LocalDateTime.now().minusDays(90));
+        
+        when(orderRepository.findViewsByCustomerId("CUST001")).thenReturn(Arrays.asList(OrderView.from(testOrder)));
+        when(orderArchiveService.findCustomerHistory("CUST001", null, null))
+            .thenReturn(Arrays.asList(OrderView.from(archivedOrder)));
+
+        // When
+        List<OrderView> result = orderService.getCustomerOrders("CUST001", null, null);
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(0L, result.get(0).id());
+        assertEquals(OrderStatus.MATCHED, result.get(0).status());
+        assertEquals(1L, result.get(1).id());
     }
 
     @Test
@@ -164,6 +215,7 @@ class OrderServiceTest {
         // When & Then
         assertThrows(RuntimeException.class, () -> orderService.cancelOrder(999L, "CUST001"));
         verify(assetService, never()).updateAssetForOrderCancellation(any(), any(), any(), any());
+        verify(tradingMetrics).recordOrderCommand(eq("cancel"), isNull(), isNull(), eq(false), anyLong());
     }
 
     @Test
@@ -175,6 +227,7 @@ class OrderServiceTest {
         // When & Then
         assertThrows(RuntimeException.class, () -> orderService.cancelOrder(1L, "CUST001"));
         verify(assetService, never()).updateAssetForOrderCancellation(any(), any(), any(), any());
+        verify(tradingMetrics).recordOrderCommand(eq("cancel"), eq("AAPL"), eq(OrderSide.BUY), eq(false), anyLong());
     }
 
     @Test
@@ -187,19 +240,49 @@ class OrderServiceTest {
         verify(assetService, never()).updateAssetForOrderCancellation(any(), any(), any(), any());
     }
 
+    @Test
+    void testReplayCancelOrder_ResolvesExistingEntryInsteadOfAppending() {
+        // Given
+        OrderCommandJournal journal = mock(OrderCommandJournal.class);
+        ReflectionTestUtils.setField(orderService, "commandJournal", journal);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+
+        // When
+        orderService.replayCancelOrder(1L, "CUST001", 42L);
+
+        // Then
+        verify(journal).resolveOnCommit(42L);
+        verify(journal, never()).appendInTransaction(any());
+        assertEquals(OrderStatus.CANCELED, testOrder.getStatus());
+    }
+
+    @Test
+    void testReplayCreateOrder_SkipsWhenSequenceAlreadyApplied() {
+        // Given
+        when(orderRepository.existsByJournalSequence(42L)).thenReturn(true);
+
+        // When
+        boolean replayed = orderService.replayCreateOrder(buyOrderRequest, 42L);
+
+        // Then
+        assertFalse(replayed);
+        verify(orderRepository, never()).save(any(Order.class));
+        verifyNoInteractions(assetService);
+    }
+
     @Test
     void testGetPendingOrders() {
         // Given
-        List<Order> expectedOrders = Arrays.asList(testOrder);
-        when(orderRepository.findByStatus(OrderStatus.PENDING)).thenReturn(expectedOrders);
+        List<OrderView> expectedOrders = Arrays.asList(OrderView.from(testOrder));
+        when(orderRepository.findViewsByStatus(OrderStatus.PENDING)).thenReturn(expectedOrders);
 
         // When
-        List<Order> result = orderService.getPendingOrders();
+        List<OrderView> result = orderService.getPendingOrders();
 
         // Then
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals(testOrder, result.get(0));
+        assertEquals(OrderView.from(testOrder), result.get(0));
     }
 
     @Test
@@ -226,6 +309,7 @@ class OrderServiceTest {
         // When & Then
         assertThrows(RuntimeException.class, () -> orderService.matchOrder(999L));
         verify(assetService, never()).updateAssetForOrderMatching(any(), any(), any(), any(), any());
+        verify(tradingMetrics).recordOrderCommand(eq("match"), isNull(), isNull(), eq(false), anyLong());
     }
 
     @Test
@@ -239,6 +323,22 @@ class OrderServiceTest {
         verify(assetService, never()).updateAssetForOrderMatching(any(), any(), any(), any(), any());
     }
 
+    @Test
+    void testReplayMatchOrder_ResolvesExistingEntryInsteadOfAppending() {
+        // Given
+        OrderCommandJournal journal = mock(OrderCommandJournal.class);
+        ReflectionTestUtils.setField(orderService, "commandJournal", journal);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+
+        // When
+        orderService.replayMatchOrder(1L, 43L);
+
+        // Then
+        verify(journal).resolveOnCommit(43L);
+        verify(journal, never()).appendInTransaction(any());
+        assertEquals(OrderStatus.MATCHED, testOrder.getStatus());
+    }
+
     @Test
     void testGetOrderById_Success() {
         // Given
@@ -260,4 +360,50 @@ class OrderServiceTest {
         // When & Then
         assertThrows(RuntimeException.class, () -> orderService.getOrderById(999L));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testCreateOrders_BestEffortPlacesAcceptedOrders() {
+        // Given
+        List<CreateOrderRequest> requests = Arrays.asList(buyOrderRequest, sellOrderRequest);
+        AssetService.ReservationPlan plan = new AssetService.ReservationPlan(
+            "CUST001", requests, Collections.emptyMap(), Collections.emptyMap(),
+            Arrays.asList(null, "Insufficient asset balance for order"));
+        when(assetService.planReservations(eq("CUST001"), anyList())).thenReturn(plan);
+        doAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            orders.get(0).setId(1L);
+            return null;
+        }).when(orderRepository).insertAll(anyList());
+
+        // When
+        List<BatchOrderResult> results = orderService.createOrders(requests, false);
+
+        // Then
+        assertEquals(BatchOrderResult.Status.CREATED, results.get(0).status());
+        assertEquals(1L, results.get(0).order().id());
+        assertEquals(BatchOrderResult.Status.REJECTED, results.get(1).status());
+        assertEquals("Insufficient asset balance for order", results.get(1).error());
+        verify(assetService).applyReservations(plan);
+        verify(eventPublisher, times(1)).publishEvent(any());
+    }
+
+    @Test
+    void testCreateOrders_AllOrNothingRejectsWholeBatch() {
+        // Given
+        List<CreateOrderRequest> requests = Arrays.asList(buyOrderRequest, sellOrderRequest);
+        AssetService.ReservationPlan plan = new AssetService.ReservationPlan(
+            "CUST001", requests, Collections.emptyMap(), Collections.emptyMap(),
+            Arrays.asList(null, "Insufficient asset balance for order"));
+        when(assetService.planReservations(eq("CUST001"), anyList())).thenReturn(plan);
+
+        // When
+        List<BatchOrderResult> results = orderService.createOrders(requests, true);
+
+        // Then
+        assertTrue(results.stream().allMatch(r -> r.status() == BatchOrderResult.Status.REJECTED));
+        assertEquals("Not placed: another order in the batch was rejected", results.get(0).error());
+        verify(assetService, never()).applyReservations(any());
+        verify(orderRepository, never()).insertAll(anyList());
+        verifyNoInteractions(eventPublisher);
+    }
+}
@@ -0,0 +1,79 @@
+package com.brokerage.service;
+
+import com.brokerage.config.CacheConfig;
+import com.brokerage.model.User;
+import com.brokerage.security.BrokerageUserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against the real Caffeine cache manager. Not @Transactional: the caches are transaction-aware, so evictions
+ * inside a test transaction would only apply on a commit that never comes.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserCacheIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cache principals;
+    private Cache usersByCustomerId;
+
+    @BeforeEach
+    void setUp() {
+        principals = cacheManager.getCache(CacheConfig.USER_PRINCIPALS);
+        usersByCustomerId = cacheManager.getCache(CacheConfig.USERS_BY_CUSTOMER_ID);
+        principals.clear();
+        usersByCustomerId.clear();
+    }
+
+    @Test
+    void testLoadUserByUsername_SecondCallIsServedFromCache() {
+        // When
+        UserDetails first = userService.loadUserByUsername("customer1");
+        UserDetails second = userService.loadUserByUsername("customer1");
+
+        // Then
+        assertSame(first, second);
+        assertSame(first, principals.get("customer1").get());
+    }
+
+    @Test
+    void testFindByCustomerId_SecondCallIsServedFromCache() {
+        // When
+        User first = userService.findByCustomerId("CUST001");
+        User second = userService.findByCustomerId("CUST001");
+
+        // Then
+        assertSame(first, second);
+        assertNotNull(usersByCustomerId.get("CUST001"));
+    }
+
+    @Test
+    void testCreateUser_EvictsCachedPrincipal() {
+        // Given: a stale entry for the username about to be registered
+        principals.put("cache-evict-user",
+            new BrokerageUserPrincipal("cache-evict-user", "stale", User.UserRole.ADMIN, null));
+
+        // When
+        User created = userService.createUser("cache-evict-user", "password123");
+
+        // Then
+        assertNull(principals.get("cache-evict-user"));
+        BrokerageUserPrincipal loaded = (BrokerageUserPrincipal) userService.loadUserByUsername("cache-evict-user");
+        assertEquals(User.UserRole.CUSTOMER, loaded.getRole());
+        assertEquals(created.getCustomerId(), loaded.getCustomerId());
+    }
+}
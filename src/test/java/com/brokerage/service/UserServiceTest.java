@@ -1,18 +1,22 @@
 package com.brokerage.service;
 
+import com.brokerage.config.ReadYourWritesTracker;
 import com.brokerage.model.User;
 import com.brokerage.repository.UserRepository;
+import com.brokerage.security.BrokerageUserPrincipal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Collection;
 import java.util.Optional;
@@ -20,6 +24,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -37,6 +42,12 @@ class UserServiceTest {
     @Mock
     private AssetService assetService;
 
+    @Mock
+    private CustomerIdAllocator customerIdAllocator;
+
+    @Spy
+    private ReadYourWritesTracker readYourWritesTracker = new ReadYourWritesTracker();
+
     @InjectMocks
     private UserService userService;
 
@@ -98,6 +109,7 @@ class UserServiceTest {
         assertNotNull(result);
         assertEquals("customer1", result.getUsername());
         assertEquals("encodedCustomerPassword", result.getPassword());
+        assertEquals("CUST001", ((BrokerageUserPrincipal) result).getCustomerId());
 
         // Check authorities
         Collection<? extends GrantedAuthority> authorities = result.getAuthorities();
@@ -127,7 +139,7 @@ class UserServiceTest {
 
         when(userRepository.existsByUsername(username)).thenReturn(false);
         when(passwordEncoder.encode(rawPassword)).thenReturn(encodedPassword);
-        when(userRepository.findByCustomerId(anyString())).thenReturn(Optional.empty());
+        when(customerIdAllocator.nextCustomerId()).thenReturn(customerId);
         
         User savedUser = new User();
         savedUser.setUsername(username);
@@ -152,6 +164,24 @@ class UserServiceTest {
         verify(userRepository).save(any(User.class));
     }
 
+    @Test
+    void testLoadUserByUsername_RightAfterCreate_ReadsOwnWrite() {
+        // Given
+        ReflectionTestUtils.setField(readYourWritesTracker, "windowMillis", 60000L);
+        when(userRepository.existsByUsername("newcustomer")).thenReturn(false);
+        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword123");
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        User created = userService.createUser("newcustomer", "password123", User.UserRole.CUSTOMER, "CUST003");
+        when(userRepository.findByUsername("newcustomer")).thenReturn(Optional.of(created));
+
+        // When
+        userService.loadUserByUsername("newcustomer");
+
+        // Then: the lookup is pinned to the primary instead of a replica that may not have the user yet
+        assertTrue(readYourWritesTracker.hasRecentWrite("user:newcustomer"));
+        verify(readYourWritesTracker).read(eq("user:newcustomer"), any());
+    }
+
     @Test
     void testCreateUser_DuplicateUsername() {
         // Given
@@ -169,34 +199,23 @@ class UserServiceTest {
     }
 
     @Test
-    void testCreateUser_CustomerIdGeneration_HandlesCollision() {
+    void testCreateUser_CustomerIdComesFromAllocator() {
         // Given
         String username = "newcustomer";
         String rawPassword = "password123";
-        String encodedPassword = "encodedPassword123";
 
         when(userRepository.existsByUsername(username)).thenReturn(false);
-        when(passwordEncoder.encode(rawPassword)).thenReturn(encodedPassword);
-        
-        when(userRepository.findByCustomerId(anyString()))
-            .thenReturn(Optional.of(new User())) 
-            .thenReturn(Optional.empty()); 
-
-        User savedUser = new User();
-        savedUser.setUsername(username);
-        savedUser.setPassword(encodedPassword);
-        savedUser.setRole(User.UserRole.CUSTOMER);
-        savedUser.setCustomerId("CUST002"); 
-        
-        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+        when(passwordEncoder.encode(rawPassword)).thenReturn("encodedPassword123");
+        when(customerIdAllocator.nextCustomerId()).thenReturn("CUST1000");
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
         User result = userService.createUser(username, rawPassword);
 
         // Then
-        assertNotNull(result);
-        assertNotNull(result.getCustomerId());
-        verify(userRepository, times(2)).findByCustomerId(anyString()); 
+        assertEquals("CUST1000", result.getCustomerId());
+        verify(assetService).initializeCustomerAssets("CUST1000");
+        verify(userRepository, never()).findByCustomerId(anyString());
     }
 
     // ===== FIND USER TESTS =====
@@ -293,7 +312,7 @@ class UserServiceTest {
 
         when(userRepository.existsByUsername(username)).thenReturn(false);
         when(passwordEncoder.encode(rawPassword)).thenReturn(encodedPassword);
-        when(userRepository.findByCustomerId(anyString())).thenReturn(Optional.empty());
+        when(customerIdAllocator.nextCustomerId()).thenReturn("CUST1000");
         
         User savedUser = new User();
         savedUser.setPassword(encodedPassword);
@@ -319,7 +338,7 @@ class UserServiceTest {
 
         when(userRepository.existsByUsername(anyString())).thenReturn(false);
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
-        when(userRepository.findByCustomerId(anyString())).thenReturn(Optional.empty());
+        when(customerIdAllocator.nextCustomerId()).thenReturn("CUST1000", "CUST1001");
         
         User savedUser1 = new User();
         savedUser1.setCustomerId("CUST001");
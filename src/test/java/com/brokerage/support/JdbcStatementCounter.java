@@ -0,0 +1,125 @@
+package com.brokerage.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the statements sent over JDBC on the current thread by wrapping the routing "dataSource" bean, so unlike
+ * SqlStatementCounter it also sees JdbcTemplate. An executed batch counts as one statement; batchedRows() has the
+ * rows it carried. Enable it in a Spring test with
+ *
+ *   @Import(JdbcStatementCounter.class)
+ *
+ * then call reset() before the code under test and assertCounts(...) after it.
+ */
+public class JdbcStatementCounter implements BeanPostProcessor {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+    private static final ThreadLocal<int[]> BATCHED_ROWS = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+            return wrap(DataSource.class, dataSource, (target, method, args) -> {
+                Object result = invoke(target, method, args);
+                return result instanceof Connection connection ? wrap(Connection.class, connection, connectionHandler()) : result;
+            });
+        }
+        return bean;
+    }
+
+    public static void reset() {
+        STATEMENTS.get().clear();
+        BATCHED_ROWS.get()[0] = 0;
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+
+    public static int batchedRows() {
+        return BATCHED_ROWS.get()[0];
+    }
+
+    /**
+     * Fails with every captured statement in the message, so a new round trip is easy to spot.
+     */
+    public static void assertCounts(int selects, int inserts, int updates, int deletes) {
+        List<String> statements = STATEMENTS.get();
+        String captured = String.join("\n", statements);
+        assertEquals(selects, count(statements, "select"), "SELECT count changed; captured:\n" + captured);
+        assertEquals(inserts, count(statements, "insert"), "INSERT count changed; captured:\n" + captured);
+        assertEquals(updates, count(statements, "update"), "UPDATE count changed; captured:\n" + captured);
+        assertEquals(deletes, count(statements, "delete"), "DELETE count changed; captured:\n" + captured);
+        assertEquals(selects + inserts + updates + deletes, statements.size(), "Unexpected statements; captured:\n" + captured);
+    }
+
+    private static Handler connectionHandler() {
+        return (connection, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return wrap(method.getReturnType(), statement, statementHandler(sql));
+            }
+            return result;
+        };
+    }
+
+    private static Handler statementHandler(String preparedSql) {
+        int[] pendingRows = new int[1];
+        return (statement, method, args) -> {
+            String name = method.getName();
+            if (name.equals("addBatch")) {
+                pendingRows[0]++;
+            } else if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                STATEMENTS.get().add(preparedSql != null ? preparedSql : "batch");
+                BATCHED_ROWS.get()[0] += pendingRows[0];
+                pendingRows[0] = 0;
+            } else if (name.startsWith("execute")) {
+                STATEMENTS.get().add(args != null && args.length > 0 && args[0] instanceof String sql ? sql : preparedSql);
+            }
+            return invoke(statement, method, args);
+        };
+    }
+
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, Object target, Handler handler) {
+        // Identity for the proxy itself: Spring binds transactional connections by DataSource key
+        InvocationHandler invocationHandler = (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> args != null && args.length == 1 && proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> handler.handle(target, method, args);
+        };
+        return (T) Proxy.newProxyInstance(JdbcStatementCounter.class.getClassLoader(), new Class<?>[] {type}, invocationHandler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static long count(List<String> statements, String keyword) {
+        return statements.stream()
+                .filter(sql -> sql.stripLeading().toLowerCase(Locale.ROOT).startsWith(keyword))
+                .count();
+    }
+}
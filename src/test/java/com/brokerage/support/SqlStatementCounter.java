@@ -0,0 +1,58 @@
+package com.brokerage.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the SQL Hibernate prepares on the current thread. Enable it in a Spring test with
+ *
+ *   @SpringBootTest(properties = SqlStatementCounter.ENABLE)
+ *
+ * then call reset() before the code under test and assertCounts(...) after it. Statements issued through
+ * JdbcTemplate bypass Hibernate and are not counted; JdbcStatementCounter sees those.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    public static final String ENABLE =
+            "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.brokerage.support.SqlStatementCounter";
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+
+    /**
+     * Fails with every captured statement in the message, so a new query is easy to spot.
+     */
+    public static void assertCounts(int selects, int inserts, int updates, int deletes) {
+        List<String> statements = STATEMENTS.get();
+        String captured = String.join("\n", statements);
+        assertEquals(selects, count(statements, "select"), "SELECT count changed; captured:\n" + captured);
+        assertEquals(inserts, count(statements, "insert"), "INSERT count changed; captured:\n" + captured);
+        assertEquals(updates, count(statements, "update"), "UPDATE count changed; captured:\n" + captured);
+        assertEquals(deletes, count(statements, "delete"), "DELETE count changed; captured:\n" + captured);
+        assertEquals(selects + inserts + updates + deletes, statements.size(), "Unexpected statements; captured:\n" + captured);
+    }
+
+    private static long count(List<String> statements, String keyword) {
+        return statements.stream()
+                .filter(sql -> sql.stripLeading().toLowerCase(Locale.ROOT).startsWith(keyword))
+                .count();
+    }
+}